@@ -1,7 +1,9 @@
 package org.example;
 
 import org.example.enums.PriceModel;
+import org.example.jfr.PriceQuoteEvent;
 import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceQuote;
 import org.example.pojos.PriceTier;
 
 import java.math.BigDecimal;
@@ -12,6 +14,10 @@ import java.util.List;
  */
 public class PriceCalculator {
 
+    // Total of a graduated quote and the last tier it reached, or -1 if it reached none.
+    private record GraduatedTotal(BigDecimal total, int lastTier) {
+    }
+
     /**
      * Calculates the price for a given quantity based on the provided price configuration.
      *
@@ -22,16 +28,111 @@ public class PriceCalculator {
      *                                  or if the priceConfig is invalid.
      */
     public BigDecimal calculatePrice(PriceConfig priceConfig, int quantity) {
+        PriceQuoteEvent event = new PriceQuoteEvent();
+        event.begin();
+        String rejectionReason = null;
+        try {
+            return computePrice(priceConfig, quantity);
+        } catch (IllegalArgumentException exception) {
+            rejectionReason = exception.getMessage();
+            throw exception;
+        } finally {
+            finishQuoteEvent(event, priceConfig, quantity, rejectionReason);
+        }
+    }
+
+    /**
+     * Like {@link #calculatePrice(PriceConfig, int)}, but also remembers which tiers priced the quantity, so the
+     * quote can list them per tier later without searching the ladder again. The breakdown is only built if
+     * {@link PriceQuote#getBreakdown()} is called.
+     * <p>
+     * The quote is priced from {@link PriceConfig#getTierSnapshot()} and keeps that list, so its breakdown always
+     * matches its total, even after the configuration is edited.
+     *
+     * @throws IllegalArgumentException In the same cases as calculatePrice.
+     */
+    public PriceQuote quote(PriceConfig priceConfig, int quantity) {
+        PriceQuoteEvent event = new PriceQuoteEvent();
+        event.begin();
+        String rejectionReason = null;
+        try {
+            return computeQuote(priceConfig, quantity);
+        } catch (IllegalArgumentException exception) {
+            rejectionReason = exception.getMessage();
+            throw exception;
+        } finally {
+            finishQuoteEvent(event, priceConfig, quantity, rejectionReason);
+        }
+    }
+
+    private BigDecimal computePrice(PriceConfig priceConfig, int quantity) {
+        List<PriceTier> tiers = validatedTiers(priceConfig, quantity);
+
+        if (tiers.get(0).getPriceModel() == PriceModel.GRADUATED) {
+            return calculateGraduatedPrice(tiers, quantity).total();
+        } else {
+            return calculateNonGraduatedPrice(tiers, quantity);
+        }
+    }
+
+    private PriceQuote computeQuote(PriceConfig priceConfig, int quantity) {
+        validateQuantity(quantity);
+        validatePriceConfig(priceConfig);
+        List<PriceTier> tiers = priceConfig.getTierSnapshot();
+        validateQuantityRange(tiers, quantity);
+
+        String productId = priceConfig.getProductId();
+        if (tiers.get(0).getPriceModel() == PriceModel.GRADUATED) {
+            GraduatedTotal graduated = calculateGraduatedPrice(tiers, quantity);
+            return new PriceQuote(productId, tiers, quantity, graduated.total(), graduated.lastTier());
+        }
+        int index = findApplicableTierIndex(tiers, quantity);
+        return new PriceQuote(productId, tiers, quantity, priceInTier(tiers.get(index), quantity), index);
+    }
+
+    private List<PriceTier> validatedTiers(PriceConfig priceConfig, int quantity) {
         validateQuantity(quantity);
         validatePriceConfig(priceConfig);
 
         List<PriceTier> tiers = priceConfig.getPriceTiers();
         validateQuantityRange(tiers, quantity);
+        return tiers;
+    }
 
-        if (tiers.get(0).getPriceModel() == PriceModel.GRADUATED) {
-            return calculateGraduatedPrice(tiers, quantity);
-        } else {
-            return calculateNonGraduatedPrice(tiers, quantity);
+    private void finishQuoteEvent(PriceQuoteEvent event, PriceConfig priceConfig, int quantity, String rejectionReason) {
+        event.end();
+        if (event.shouldCommit()) {
+            commitQuoteEvent(event, priceConfig, quantity, rejectionReason);
+        }
+    }
+
+    // Only reached for quotes slower than the event threshold, so the extra lookups stay off the fast path.
+    private void commitQuoteEvent(PriceQuoteEvent event, PriceConfig priceConfig, int quantity, String rejectionReason) {
+        event.quantity = quantity;
+        event.success = rejectionReason == null;
+        event.rejectionReason = rejectionReason;
+        if (priceConfig != null) {
+            List<PriceTier> tiers = priceConfig.getPriceTiers();
+            event.productId = priceConfig.getProductId();
+            event.tierCount = tiers.size();
+            event.model = describeModel(tiers, quantity);
+        }
+        event.commit();
+    }
+
+    private String describeModel(List<PriceTier> tiers, int quantity) {
+        if (tiers.isEmpty()) {
+            return null;
+        }
+        PriceTier first = tiers.get(0);
+        if (first.getPriceModel() == PriceModel.GRADUATED) {
+            return first.getPriceModel().name();
+        }
+        // Non-graduated ladders may mix FLAT and VOLUME, so report the tier that priced this quantity.
+        try {
+            return findApplicableTier(tiers, quantity).getPriceModel().name();
+        } catch (IllegalArgumentException exception) {
+            return first.getPriceModel().name();
         }
     }
 
@@ -62,28 +163,34 @@ public class PriceCalculator {
     }
 
 
-    private BigDecimal calculateGraduatedPrice(List<PriceTier> tiers, int quantity) {
+    private GraduatedTotal calculateGraduatedPrice(List<PriceTier> tiers, int quantity) {
         BigDecimal total = BigDecimal.ZERO;
         int remaining = quantity;
+        int lastTier = -1;
 
-        for (PriceTier tier : tiers) {
+        for (int i = 0; i < tiers.size(); i++) {
             if (remaining <= 0) break;
+            PriceTier tier = tiers.get(i);
 
             int tierQuantity = Math.min(remaining, tier.getTo() - tier.getFrom() + 1);
 
             // Handle the edge case where the first tier doesn't start at 1.
-            if (tiers.indexOf(tier) == 0 && tier.getFrom() != 1) {
+            if (i == 0 && tier.getFrom() != 1) {
                 tierQuantity = Math.min(remaining, tier.getTo());
             }
 
             total = total.add(tier.getPriceValue().multiply(BigDecimal.valueOf(tierQuantity)));
             remaining -= tierQuantity;
+            lastTier = i;
         }
-        return total;
+        return new GraduatedTotal(total, lastTier);
     }
 
     private BigDecimal calculateNonGraduatedPrice(List<PriceTier> tiers, int quantity) {
-        PriceTier tier = findApplicableTier(tiers, quantity);
+        return priceInTier(findApplicableTier(tiers, quantity), quantity);
+    }
+
+    private BigDecimal priceInTier(PriceTier tier, int quantity) {
         return switch (tier.getPriceModel()) {
             case FLAT -> tier.getPriceValue();
             case VOLUME -> tier.getPriceValue().multiply(BigDecimal.valueOf(quantity));
@@ -92,6 +199,10 @@ public class PriceCalculator {
     }
 
     public PriceTier findApplicableTier(List<PriceTier> tiers, int quantity) {
+        return tiers.get(findApplicableTierIndex(tiers, quantity));
+    }
+
+    private int findApplicableTierIndex(List<PriceTier> tiers, int quantity) {
         // Use binary search for efficiency.
         int low = 0;
         int high = tiers.size() - 1;
@@ -105,10 +216,10 @@ public class PriceCalculator {
             } else if (quantity > midTier.getTo()) {
                 low = mid + 1;
             } else {
-                return midTier; // Found the tier.
+                return mid; // Found the tier.
             }
         }
 
         throw new IllegalArgumentException("No applicable tier found for the given quantity.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package org.example.codec;
+
+import org.example.compiled.PricingFunction;
+import org.example.enums.CurrencyEnum;
+import org.example.enums.QuoteErrorCode;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * Answers a batch of encoded quote requests with a batch of encoded responses, one response per request
+ * in the same order. Rejected quotes become error responses instead of failing the batch.
+ */
+public class QuoteBatchHandler {
+
+    private final LongFunction<PricingFunction> products;
+
+    /**
+     * @param products Resolves a product key to its pricing function, or null for unknown products.
+     */
+    public QuoteBatchHandler(LongFunction<PricingFunction> products) {
+        this.products = Objects.requireNonNull(products, "products can't be null");
+    }
+
+    /**
+     * @return The number of bytes written to the response buffer.
+     * @throws IllegalArgumentException If the request batch is malformed or the response buffer is too small.
+     */
+    public int handle(ByteBuffer requests, int requestOffset, ByteBuffer responses, int responseOffset) {
+        int count = QuoteWireCodec.batchCount(requests, requestOffset, QuoteWireCodec.REQUEST_BATCH);
+        int size = QuoteWireCodec.responseBatchSize(count);
+        if (responses.limit() - responseOffset < size) {
+            throw new IllegalArgumentException("Response buffer too small for " + count + " quotes.");
+        }
+
+        QuoteWireCodec.putBatchHeader(responses, responseOffset, QuoteWireCodec.RESPONSE_BATCH, count);
+        for (int i = 0; i < count; i++) {
+            int request = QuoteWireCodec.requestOffset(requestOffset, i);
+            int response = QuoteWireCodec.responseOffset(responseOffset, i);
+            long productKey = QuoteWireCodec.requestProductKey(requests, request);
+            int quantity = QuoteWireCodec.requestQuantity(requests, request);
+            short currencyCode = QuoteWireCodec.requestCurrencyCode(requests, request);
+            if (!QuoteWireCodec.isKnownCurrency(currencyCode)) {
+                // The response has to name some currency; the error code says the requested one wasn't understood.
+                QuoteWireCodec.putError(responses, response, productKey, quantity, CurrencyEnum.USD,
+                        QuoteErrorCode.UNKNOWN_CURRENCY);
+                continue;
+            }
+            CurrencyEnum currency = QuoteWireCodec.requestCurrency(requests, request);
+
+            PricingFunction function = products.apply(productKey);
+            QuoteErrorCode error = classify(function, quantity);
+            if (error != QuoteErrorCode.NONE) {
+                QuoteWireCodec.putError(responses, response, productKey, quantity, currency, error);
+                continue;
+            }
+            try {
+                BigDecimal price = function.calculatePrice(quantity);
+                QuoteWireCodec.putResponse(responses, response, productKey, quantity, currency, price);
+            } catch (IllegalArgumentException exception) {
+                QuoteWireCodec.putError(responses, response, productKey, quantity, currency, QuoteErrorCode.REJECTED);
+            }
+        }
+        return size;
+    }
+
+    // The rejections a client can act on, checked up front in PriceCalculator's order instead of being read
+    // back from exception messages.
+    private static QuoteErrorCode classify(PricingFunction function, int quantity) {
+        if (quantity < 0) {
+            return QuoteErrorCode.NEGATIVE_QUANTITY;
+        }
+        if (function == null) {
+            return QuoteErrorCode.UNKNOWN_PRODUCT;
+        }
+        int min = function.getMinQuantity();
+        int max = function.getMaxQuantity();
+        if (min > max) {
+            return QuoteErrorCode.INVALID_PRICE_CONFIG;
+        }
+        if (quantity < min) {
+            return QuoteErrorCode.BELOW_MIN_RANGE;
+        }
+        if (quantity > max) {
+            return QuoteErrorCode.ABOVE_MAX_RANGE;
+        }
+        return QuoteErrorCode.NONE;
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.codec;
+
+import org.example.enums.CurrencyEnum;
+import org.example.enums.QuoteErrorCode;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-layout binary encoding of quote requests and responses.
+ * <p>
+ * All methods read and write at absolute offsets, so they neither allocate nor move the buffer's position.
+ * Multi-byte fields use the buffer's byte order; both sides must agree on it (the ByteBuffer default is
+ * big-endian).
+ *
+ * <pre>
+ * request  (16 bytes): productKey:long  quantity:int  currency:short  reserved:short
+ * response (24 bytes): productKey:long  unscaledPrice:long  quantity:int  currency:short  scale:byte  errorCode:byte
+ * batch header (12 bytes): magic:int  version:byte  kind:byte  reserved:short  count:int, then count records
+ * </pre>
+ * A product key is either a catalog index assigned by the caller or {@link #productKey(CharSequence)}.
+ */
+public final class QuoteWireCodec {
+
+    public static final int REQUEST_SIZE = 16;
+    public static final int RESPONSE_SIZE = 24;
+    public static final int BATCH_HEADER_SIZE = 12;
+
+    public static final byte REQUEST_BATCH = 1;
+    public static final byte RESPONSE_BATCH = 2;
+
+    private static final int MAGIC = 0x51554F54; // "QUOT"
+    private static final byte VERSION = 1;
+    private static final CurrencyEnum[] CURRENCIES = CurrencyEnum.values();
+
+    private QuoteWireCodec() {
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a product id, computed without encoding it to bytes.
+     */
+    public static long productKey(CharSequence productId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < productId.length(); i++) {
+            hash ^= productId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public static void putRequest(ByteBuffer buffer, int offset, long productKey, int quantity, CurrencyEnum currency) {
+        buffer.putLong(offset, productKey);
+        buffer.putInt(offset + 8, quantity);
+        buffer.putShort(offset + 12, (short) currency.ordinal());
+        buffer.putShort(offset + 14, (short) 0);
+    }
+
+    public static long requestProductKey(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    public static int requestQuantity(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + 8);
+    }
+
+    public static CurrencyEnum requestCurrency(ByteBuffer buffer, int offset) {
+        return currency(requestCurrencyCode(buffer, offset));
+    }
+
+    /**
+     * @return The raw currency field, which {@link #isKnownCurrency(short)} can check without throwing.
+     */
+    public static short requestCurrencyCode(ByteBuffer buffer, int offset) {
+        return buffer.getShort(offset + 12);
+    }
+
+    public static boolean isKnownCurrency(short code) {
+        return code >= 0 && code < CURRENCIES.length;
+    }
+
+    /**
+     * Writes a successful response, or a {@link QuoteErrorCode#PRICE_OVERFLOW} response if the price doesn't
+     * fit a long unscaled value with a byte scale.
+     */
+    public static void putResponse(ByteBuffer buffer, int offset, long productKey, int quantity, CurrencyEnum currency,
+                                   BigDecimal price) {
+        if (price.scale() < Byte.MIN_VALUE || price.scale() > Byte.MAX_VALUE || price.precision() > 18) {
+            putError(buffer, offset, productKey, quantity, currency, QuoteErrorCode.PRICE_OVERFLOW);
+            return;
+        }
+        putResponse(buffer, offset, productKey, quantity, currency, price.unscaledValue().longValue(), price.scale());
+    }
+
+    public static void putResponse(ByteBuffer buffer, int offset, long productKey, int quantity, CurrencyEnum currency,
+                                   long unscaledPrice, int scale) {
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("scale must fit in a byte.");
+        }
+        putRecord(buffer, offset, productKey, quantity, currency, unscaledPrice, (byte) scale, QuoteErrorCode.NONE);
+    }
+
+    public static void putError(ByteBuffer buffer, int offset, long productKey, int quantity, CurrencyEnum currency,
+                                QuoteErrorCode errorCode) {
+        if (errorCode == QuoteErrorCode.NONE) {
+            throw new IllegalArgumentException("errorCode can't be NONE.");
+        }
+        putRecord(buffer, offset, productKey, quantity, currency, 0, (byte) 0, errorCode);
+    }
+
+    private static void putRecord(ByteBuffer buffer, int offset, long productKey, int quantity, CurrencyEnum currency,
+                                  long unscaledPrice, byte scale, QuoteErrorCode errorCode) {
+        buffer.putLong(offset, productKey);
+        buffer.putLong(offset + 8, unscaledPrice);
+        buffer.putInt(offset + 16, quantity);
+        buffer.putShort(offset + 20, (short) currency.ordinal());
+        buffer.put(offset + 22, scale);
+        buffer.put(offset + 23, (byte) errorCode.ordinal());
+    }
+
+    public static long responseProductKey(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    public static long responseUnscaledPrice(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    public static int responseQuantity(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + 16);
+    }
+
+    public static CurrencyEnum responseCurrency(ByteBuffer buffer, int offset) {
+        return currency(buffer.getShort(offset + 20));
+    }
+
+    public static int responseScale(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + 22);
+    }
+
+    public static QuoteErrorCode responseErrorCode(ByteBuffer buffer, int offset) {
+        return QuoteErrorCode.fromCode(buffer.get(offset + 23));
+    }
+
+    /**
+     * Convenience accessor that materializes the price; use the primitive accessors on hot paths.
+     *
+     * @return The price, or null if the response carries an error.
+     */
+    public static BigDecimal responsePrice(ByteBuffer buffer, int offset) {
+        if (responseErrorCode(buffer, offset) != QuoteErrorCode.NONE) {
+            return null;
+        }
+        return BigDecimal.valueOf(responseUnscaledPrice(buffer, offset), responseScale(buffer, offset));
+    }
+
+    public static void putBatchHeader(ByteBuffer buffer, int offset, byte kind, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count cannot be negative.");
+        }
+        buffer.putInt(offset, MAGIC);
+        buffer.put(offset + 4, VERSION);
+        buffer.put(offset + 5, kind);
+        buffer.putShort(offset + 6, (short) 0);
+        buffer.putInt(offset + 8, count);
+    }
+
+    /**
+     * Validates a batch header and checks that the buffer holds all of its records.
+     *
+     * @return The number of records in the batch.
+     * @throws IllegalArgumentException If the header is malformed, of another kind, or the batch is truncated.
+     */
+    public static int batchCount(ByteBuffer buffer, int offset, byte expectedKind) {
+        if (buffer.limit() - offset < BATCH_HEADER_SIZE) {
+            throw new IllegalArgumentException("Truncated batch header.");
+        }
+        if (buffer.getInt(offset) != MAGIC || buffer.get(offset + 4) != VERSION) {
+            throw new IllegalArgumentException("Not a quote batch.");
+        }
+        if (buffer.get(offset + 5) != expectedKind) {
+            throw new IllegalArgumentException("Unexpected batch kind: " + buffer.get(offset + 5));
+        }
+        int count = buffer.getInt(offset + 8);
+        int recordSize = expectedKind == REQUEST_BATCH ? REQUEST_SIZE : RESPONSE_SIZE;
+        if (count < 0 || (long) count * recordSize > buffer.limit() - offset - BATCH_HEADER_SIZE) {
+            throw new IllegalArgumentException("Truncated batch of " + count + " records.");
+        }
+        return count;
+    }
+
+    public static int requestOffset(int batchOffset, int index) {
+        return batchOffset + BATCH_HEADER_SIZE + index * REQUEST_SIZE;
+    }
+
+    public static int responseOffset(int batchOffset, int index) {
+        return batchOffset + BATCH_HEADER_SIZE + index * RESPONSE_SIZE;
+    }
+
+    public static int requestBatchSize(int count) {
+        return BATCH_HEADER_SIZE + count * REQUEST_SIZE;
+    }
+
+    public static int responseBatchSize(int count) {
+        return BATCH_HEADER_SIZE + count * RESPONSE_SIZE;
+    }
+
+    private static CurrencyEnum currency(short ordinal) {
+        if (!isKnownCurrency(ordinal)) {
+            throw new IllegalArgumentException("Unknown currency: " + ordinal);
+        }
+        return CURRENCIES[ordinal];
+    }
+}
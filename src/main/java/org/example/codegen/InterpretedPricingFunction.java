@@ -0,0 +1,42 @@
+package org.example.codegen;
+
+import org.example.PriceCalculator;
+import org.example.compiled.PricingFunction;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * PricingFunction that runs every quote through PriceCalculator. Used for ladders that are too large
+ * (or empty) to be worth generating code for.
+ */
+public class InterpretedPricingFunction implements PricingFunction {
+
+    private final PriceCalculator calculator;
+    private final PriceConfig priceConfig;
+
+    public InterpretedPricingFunction(PriceCalculator calculator, PriceConfig priceConfig) {
+        this.calculator = calculator;
+        // Copy the tier list so adding or removing tiers on the caller's config doesn't change this function.
+        this.priceConfig = new PriceConfig(priceConfig.getProductId(), priceConfig.getPriceTiers());
+    }
+
+    @Override
+    public BigDecimal calculatePrice(int quantity) {
+        return calculator.calculatePrice(priceConfig, quantity);
+    }
+
+    @Override
+    public int getMinQuantity() {
+        List<PriceTier> tiers = priceConfig.getPriceTiers();
+        return tiers.isEmpty() ? 1 : tiers.get(0).getFrom();
+    }
+
+    @Override
+    public int getMaxQuantity() {
+        List<PriceTier> tiers = priceConfig.getPriceTiers();
+        return tiers.isEmpty() ? 0 : tiers.get(tiers.size() - 1).getTo();
+    }
+}
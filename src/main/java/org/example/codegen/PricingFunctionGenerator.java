@@ -0,0 +1,251 @@
+package org.example.codegen;
+
+import org.example.PriceCalculator;
+import org.example.compiled.CompiledPriceConfig;
+import org.example.compiled.PricingFunction;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a hidden class per PriceConfig whose {@code calculatePrice} is an unrolled comparison tree
+ * over the tier boundaries.
+ * <p>
+ * Boundaries are emitted as int constants and every price (plus every graduated cumulative cost) lives in
+ * its own final field of the hidden class, which the JIT trusts as a constant. The hidden class is defined
+ * without {@code STRONG}, so it is unloaded once the function is no longer referenced.
+ */
+public class PricingFunctionGenerator {
+
+    /**
+     * Ladders above this size fall back to PriceCalculator. Each tier adds roughly 30 bytes of bytecode and
+     * HotSpot refuses to JIT-compile methods larger than 8000 bytes.
+     */
+    public static final int MAX_GENERATED_TIERS = 128;
+
+    // Hidden classes must live in the package of the defining lookup.
+    private static final String CLASS_NAME =
+            PricingFunctionGenerator.class.getPackageName().replace('.', '/') + "/GeneratedPricingFunction";
+    private static final String BIG_DECIMAL = Type.getInternalName(BigDecimal.class);
+    private static final String BIG_DECIMAL_DESC = Type.getDescriptor(BigDecimal.class);
+    private static final String ILLEGAL_ARGUMENT = Type.getInternalName(IllegalArgumentException.class);
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final PriceCalculator calculator;
+
+    public PricingFunctionGenerator(PriceCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    /**
+     * Creates a pricing function for the current tiers of the given configuration.
+     *
+     * @param priceConfig The price configuration.
+     * @return A generated function, or an {@link InterpretedPricingFunction} for empty or very large ladders.
+     * @throws IllegalArgumentException If the priceConfig is null.
+     */
+    public PricingFunction generate(PriceConfig priceConfig) {
+        CompiledPriceConfig compiled = CompiledPriceConfig.compile(priceConfig);
+        if (compiled.getTierCount() == 0 || compiled.getTierCount() > MAX_GENERATED_TIERS) {
+            return new InterpretedPricingFunction(calculator, priceConfig);
+        }
+        return define(compiled);
+    }
+
+    private PricingFunction define(CompiledPriceConfig compiled) {
+        List<BigDecimal> constants = new ArrayList<>();
+        byte[] bytes = emit(compiled, constants);
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true);
+            return (PricingFunction) hidden
+                    .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class, BigDecimal[].class))
+                    .invoke((Object) constants.toArray(new BigDecimal[0]));
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Failed to generate pricing function for product: "
+                    + compiled.getProductId(), throwable);
+        }
+    }
+
+    private byte[] emit(CompiledPriceConfig compiled, List<BigDecimal> constants) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V21, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null,
+                "java/lang/Object", new String[]{Type.getInternalName(PricingFunction.class)});
+
+        List<String> fields = new ArrayList<>();
+        int tierCount = compiled.getTierCount();
+        for (int i = 0; i < tierCount; i++) {
+            addConstant(writer, fields, constants, "p" + i, compiled.getPrice(i));
+            if (compiled.isGraduated() && i < tierCount - 1) {
+                addConstant(writer, fields, constants, "c" + i, compiled.getCumulativeCost(i));
+            }
+        }
+        emitConstructor(writer, fields);
+        emitCalculatePrice(writer, compiled);
+        emitIntConstant(writer, "getMinQuantity", compiled.getMinQuantity());
+        emitIntConstant(writer, "getMaxQuantity", compiled.getMaxQuantity());
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private void addConstant(ClassWriter writer, List<String> fields, List<BigDecimal> constants,
+                             String field, BigDecimal value) {
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, field, BIG_DECIMAL_DESC, null, null).visitEnd();
+        fields.add(field);
+        constants.add(value);
+    }
+
+    private void emitConstructor(ClassWriter writer, List<String> fields) {
+        MethodVisitor method = writer.visitMethod(0, "<init>", "([" + BIG_DECIMAL_DESC + ")V", null, null);
+        method.visitCode();
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        // The constructor argument holds the constants in field declaration order.
+        for (int i = 0; i < fields.size(); i++) {
+            method.visitVarInsn(Opcodes.ALOAD, 0);
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            pushInt(method, i);
+            method.visitInsn(Opcodes.AALOAD);
+            method.visitFieldInsn(Opcodes.PUTFIELD, CLASS_NAME, fields.get(i), BIG_DECIMAL_DESC);
+        }
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void emitCalculatePrice(ClassWriter writer, CompiledPriceConfig compiled) {
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "calculatePrice",
+                "(I)" + BIG_DECIMAL_DESC, null, null);
+        method.visitCode();
+
+        int lastTier = compiled.getTierCount() - 1;
+        emitRangeCheck(method, Opcodes.IFGE, null, "Quantity cannot be negative.");
+        emitRangeCheck(method, Opcodes.IF_ICMPGE, compiled.getFrom(0), "Quantity is below the available min range.");
+        emitRangeCheck(method, Opcodes.IF_ICMPLE, compiled.getTo(lastTier), "Quantity exceeds maximum tier range.");
+        emitTree(method, compiled, 0, lastTier);
+
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    // A method that returns a constant, e.g. a range bound of the ladder.
+    private void emitIntConstant(ClassWriter writer, String name, int value) {
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, name, "()I", null, null);
+        method.visitCode();
+        pushInt(method, value);
+        method.visitInsn(Opcodes.IRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    // Throws IllegalArgumentException(message) unless "quantity <jump> bound" holds (or "quantity <jump> 0" without a bound).
+    private void emitRangeCheck(MethodVisitor method, int jump, Integer bound, String message) {
+        Label ok = new Label();
+        method.visitVarInsn(Opcodes.ILOAD, 1);
+        if (bound != null) {
+            pushInt(method, bound);
+        }
+        method.visitJumpInsn(jump, ok);
+        method.visitTypeInsn(Opcodes.NEW, ILLEGAL_ARGUMENT);
+        method.visitInsn(Opcodes.DUP);
+        method.visitLdcInsn(message);
+        method.visitMethodInsn(Opcodes.INVOKESPECIAL, ILLEGAL_ARGUMENT, "<init>", "(Ljava/lang/String;)V", false);
+        method.visitInsn(Opcodes.ATHROW);
+        method.visitLabel(ok);
+    }
+
+    private void emitTree(MethodVisitor method, CompiledPriceConfig compiled, int low, int high) {
+        if (low == high) {
+            emitLeaf(method, compiled, low);
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        Label upper = new Label();
+        method.visitVarInsn(Opcodes.ILOAD, 1);
+        pushInt(method, compiled.getTo(mid));
+        method.visitJumpInsn(Opcodes.IF_ICMPGT, upper);
+        emitTree(method, compiled, low, mid);
+        method.visitLabel(upper);
+        emitTree(method, compiled, mid + 1, high);
+    }
+
+    private void emitLeaf(MethodVisitor method, CompiledPriceConfig compiled, int tier) {
+        if (compiled.getPriceModel(tier) == PriceModel.FLAT) {
+            loadField(method, "p" + tier);
+            method.visitInsn(Opcodes.ARETURN);
+            return;
+        }
+        if (compiled.getPriceModel(tier) == PriceModel.VOLUME) {
+            loadField(method, "p" + tier);
+            loadQuantity(method, 0);
+            multiply(method);
+            method.visitInsn(Opcodes.ARETURN);
+            return;
+        }
+        if (tier == 0) {
+            if (compiled.getFrom(0) == 0) {
+                // PriceCalculator returns an unscaled zero when no unit is charged.
+                Label charged = new Label();
+                method.visitVarInsn(Opcodes.ILOAD, 1);
+                method.visitJumpInsn(Opcodes.IFNE, charged);
+                method.visitFieldInsn(Opcodes.GETSTATIC, BIG_DECIMAL, "ZERO", BIG_DECIMAL_DESC);
+                method.visitInsn(Opcodes.ARETURN);
+                method.visitLabel(charged);
+            }
+            method.visitFieldInsn(Opcodes.GETSTATIC, BIG_DECIMAL, "ZERO", BIG_DECIMAL_DESC);
+            loadField(method, "p0");
+            loadQuantity(method, 0);
+        } else {
+            loadField(method, "c" + (tier - 1));
+            loadField(method, "p" + tier);
+            loadQuantity(method, compiled.getTo(tier - 1));
+        }
+        multiply(method);
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, BIG_DECIMAL, "add",
+                "(" + BIG_DECIMAL_DESC + ")" + BIG_DECIMAL_DESC, false);
+        method.visitInsn(Opcodes.ARETURN);
+    }
+
+    private void loadField(MethodVisitor method, String field) {
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, field, BIG_DECIMAL_DESC);
+    }
+
+    // Pushes BigDecimal.valueOf(quantity - offset).
+    private void loadQuantity(MethodVisitor method, int offset) {
+        method.visitVarInsn(Opcodes.ILOAD, 1);
+        if (offset != 0) {
+            pushInt(method, offset);
+            method.visitInsn(Opcodes.ISUB);
+        }
+        method.visitInsn(Opcodes.I2L);
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, BIG_DECIMAL, "valueOf", "(J)" + BIG_DECIMAL_DESC, false);
+    }
+
+    private void multiply(MethodVisitor method) {
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, BIG_DECIMAL, "multiply",
+                "(" + BIG_DECIMAL_DESC + ")" + BIG_DECIMAL_DESC, false);
+    }
+
+    private static void pushInt(MethodVisitor method, int value) {
+        if (value >= -1 && value <= 5) {
+            method.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            method.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            method.visitLdcInsn(value);
+        }
+    }
+}
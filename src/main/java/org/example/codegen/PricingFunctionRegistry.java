@@ -0,0 +1,57 @@
+package org.example.codegen;
+
+import org.example.compiled.PricingFunction;
+import org.example.pojos.PriceConfig;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the current generated pricing function of each product.
+ * <p>
+ * Replacing or removing a product drops the registry's reference to the previous function; its hidden
+ * class becomes unloadable as soon as no in-flight quote still holds the old instance.
+ */
+public class PricingFunctionRegistry {
+
+    private final PricingFunctionGenerator generator;
+    private final ConcurrentMap<String, PricingFunction> functions = new ConcurrentHashMap<>();
+
+    public PricingFunctionRegistry(PricingFunctionGenerator generator) {
+        this.generator = Objects.requireNonNull(generator, "generator can't be null");
+    }
+
+    /**
+     * @param productId The product to look up.
+     * @return The current pricing function of the product.
+     * @throws IllegalArgumentException If no configuration was registered for the product.
+     */
+    public PricingFunction get(String productId) {
+        PricingFunction function = functions.get(productId);
+        if (function == null) {
+            throw new IllegalArgumentException("Price configuration not found for product: " + productId);
+        }
+        return function;
+    }
+
+    /**
+     * Generates a function for the current tiers of the configuration and makes it the product's function.
+     *
+     * @param priceConfig The new price configuration of its product.
+     * @return The new pricing function.
+     */
+    public PricingFunction replace(PriceConfig priceConfig) {
+        PricingFunction function = generator.generate(priceConfig);
+        functions.put(priceConfig.getProductId(), function);
+        return function;
+    }
+
+    public void remove(String productId) {
+        functions.remove(productId);
+    }
+
+    public int size() {
+        return functions.size();
+    }
+}
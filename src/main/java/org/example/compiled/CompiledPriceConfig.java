@@ -0,0 +1,189 @@
+package org.example.compiled;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Immutable, array-backed snapshot of a PriceConfig that prices a quantity with one binary search.
+ * <p>
+ * Results and exceptions match {@link org.example.PriceCalculator#calculatePrice(PriceConfig, int)},
+ * including the scale of the returned BigDecimal. Graduated costs are precomputed per tier, so a
+ * graduated quote costs one multiplication and one addition instead of a walk over the ladder.
+ * Later changes to the source PriceConfig (or its tiers) are not reflected; compile again instead.
+ */
+public final class CompiledPriceConfig implements PricingFunction {
+
+    private final String productId;
+    private final int[] from;
+    private final int[] to;
+    private final BigDecimal[] prices;
+    private final PriceModel[] models;
+    private final boolean graduated;
+    // Graduated only: cost of every unit up to and including tier i.
+    private final BigDecimal[] cumulativeCosts;
+
+    private CompiledPriceConfig(String productId, List<PriceTier> tiers) {
+        int size = tiers.size();
+        this.productId = productId;
+        this.from = new int[size];
+        this.to = new int[size];
+        this.prices = new BigDecimal[size];
+        this.models = new PriceModel[size];
+        for (int i = 0; i < size; i++) {
+            PriceTier tier = tiers.get(i);
+            from[i] = tier.getFrom();
+            to[i] = tier.getTo();
+            prices[i] = tier.getPriceValue();
+            models[i] = tier.getPriceModel();
+        }
+        this.graduated = size > 0 && models[0] == PriceModel.GRADUATED;
+        this.cumulativeCosts = graduated ? buildCumulativeCosts() : null;
+    }
+
+    /**
+     * Compiles the current tiers of the given price configuration.
+     *
+     * @param priceConfig The price configuration to compile.
+     * @return The compiled configuration.
+     * @throws IllegalArgumentException If the priceConfig is null.
+     */
+    public static CompiledPriceConfig compile(PriceConfig priceConfig) {
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration cannot be null.");
+        }
+        return new CompiledPriceConfig(priceConfig.getProductId(), priceConfig.getPriceTiers());
+    }
+
+    private BigDecimal[] buildCumulativeCosts() {
+        BigDecimal[] costs = new BigDecimal[from.length];
+        // The first tier always covers units 1..to, even when it doesn't start at 1.
+        BigDecimal total = BigDecimal.ZERO.add(prices[0].multiply(BigDecimal.valueOf(to[0])));
+        costs[0] = total;
+        for (int i = 1; i < from.length; i++) {
+            total = total.add(prices[i].multiply(BigDecimal.valueOf((long) to[i] - from[i] + 1)));
+            costs[i] = total;
+        }
+        return costs;
+    }
+
+    @Override
+    public BigDecimal calculatePrice(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative.");
+        }
+        if (from.length == 0) {
+            throw new IllegalArgumentException("priceTiers cannot be null or empty.");
+        }
+        if (quantity < from[0]) {
+            throw new IllegalArgumentException("Quantity is below the available min range.");
+        }
+        if (quantity > to[to.length - 1]) {
+            throw new IllegalArgumentException("Quantity exceeds maximum tier range.");
+        }
+
+        int index = findTierIndex(quantity);
+        if (graduated) {
+            return graduatedCost(index, quantity);
+        }
+        return switch (models[index]) {
+            case FLAT -> prices[index];
+            case VOLUME -> prices[index].multiply(BigDecimal.valueOf(quantity));
+            default -> throw new IllegalArgumentException("Unsupported pricing model.");
+        };
+    }
+
+    /**
+     * @param quantity A quantity no larger than the last tier's upper bound.
+     * @return The index of the first tier whose upper bound is >= quantity.
+     */
+    public int findTierIndex(int quantity) {
+        int low = 0;
+        int high = to.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (to[mid] < quantity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Graduated cost of the first {@code units} units, without the range checks of calculatePrice. Units below
+     * the first tier's start are charged at the first tier's price, as calculatePrice does for the first tier.
+     *
+     * @param units Number of units, between 0 and the last tier's upper bound.
+     * @throws IllegalStateException If the configuration isn't graduated.
+     */
+    public BigDecimal graduatedCost(int units) {
+        if (!graduated) {
+            throw new IllegalStateException("Cumulative costs are only defined for GRADUATED tiers.");
+        }
+        return graduatedCost(findTierIndex(units), units);
+    }
+
+    private BigDecimal graduatedCost(int index, int quantity) {
+        if (quantity == 0) {
+            return BigDecimal.ZERO;
+        }
+        if (index == 0) {
+            return BigDecimal.ZERO.add(prices[0].multiply(BigDecimal.valueOf(quantity)));
+        }
+        return cumulativeCosts[index - 1].add(prices[index].multiply(BigDecimal.valueOf(quantity - to[index - 1])));
+    }
+
+    @Override
+    public int getMinQuantity() {
+        return from.length == 0 ? 1 : from[0];
+    }
+
+    @Override
+    public int getMaxQuantity() {
+        return to.length == 0 ? 0 : to[to.length - 1];
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getTierCount() {
+        return from.length;
+    }
+
+    public boolean isGraduated() {
+        return graduated;
+    }
+
+    public int getFrom(int tierIndex) {
+        return from[tierIndex];
+    }
+
+    public int getTo(int tierIndex) {
+        return to[tierIndex];
+    }
+
+    public BigDecimal getPrice(int tierIndex) {
+        return prices[tierIndex];
+    }
+
+    public PriceModel getPriceModel(int tierIndex) {
+        return models[tierIndex];
+    }
+
+    /**
+     * @return The graduated cost of every unit up to and including the given tier.
+     * @throws IllegalStateException If the configuration isn't graduated.
+     */
+    public BigDecimal getCumulativeCost(int tierIndex) {
+        if (!graduated) {
+            throw new IllegalStateException("Cumulative costs are only defined for GRADUATED tiers.");
+        }
+        return cumulativeCosts[tierIndex];
+    }
+}
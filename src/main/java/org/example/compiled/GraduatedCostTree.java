@@ -0,0 +1,255 @@
+package org.example.compiled;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.example.pojos.PriceTierListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cumulative graduated costs of a PriceConfig that follow its tier edits in O(log n).
+ * <p>
+ * The tiers are kept in a treap ordered by position, where every node knows the summed tier subtotals and the
+ * highest upper bound of its subtree. An insert, removal or price change copies the O(log n) nodes on its path
+ * (plus the first tier, whose width depends on being first) and publishes one new root per edit; quotes read whichever
+ * root is current without locking, so edits never block them. A quote walks one root-to-leaf path.
+ * <p>
+ * Only GRADUATED ladders have cumulative costs. For them, results and exceptions match
+ * {@link org.example.PriceCalculator#calculatePrice(PriceConfig, int)}, including the scale of the returned
+ * BigDecimal. If the configuration is later reset to FLAT or VOLUME tiers, every quote throws
+ * IllegalStateException until it is reset to GRADUATED tiers again. Tiers edited in place through PriceTier
+ * setters are not seen.
+ */
+public final class GraduatedCostTree implements PricingFunction, PriceTierListener {
+
+    private record Node(PriceTier tier, BigDecimal subtotal, int priority, Node left, Node right,
+                        int size, BigDecimal sum, int lastTo) {
+
+        static Node of(PriceTier tier, boolean first, int priority) {
+            long width = first ? tier.getTo() : (long) tier.getTo() - tier.getFrom() + 1;
+            BigDecimal subtotal = tier.getPriceValue().multiply(BigDecimal.valueOf(width));
+            return new Node(tier, subtotal, priority, null, null, 1, subtotal, tier.getTo());
+        }
+
+        // Same tier, new children; the subtotal doesn't depend on them.
+        Node with(Node left, Node right) {
+            BigDecimal total = subtotal;
+            int count = 1;
+            int last = tier.getTo();
+            if (left != null) {
+                total = left.sum.add(total);
+                count += left.size;
+            }
+            if (right != null) {
+                total = total.add(right.sum);
+                count += right.size;
+                last = right.lastTo;
+            }
+            return new Node(tier, subtotal, priority, left, right, count, total, last);
+        }
+    }
+
+    private volatile Node root;
+
+    private GraduatedCostTree(List<PriceTier> tiers) {
+        tiersReset(tiers);
+    }
+
+    /**
+     * Builds the tree from the current tiers and keeps it in step with later edits of the configuration.
+     *
+     * @throws IllegalArgumentException If the configuration is null or its tiers aren't GRADUATED.
+     */
+    public static GraduatedCostTree attach(PriceConfig priceConfig) {
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration cannot be null.");
+        }
+        List<PriceTier> tiers = priceConfig.getPriceTiers();
+        if (!tiers.isEmpty() && tiers.get(0).getPriceModel() != PriceModel.GRADUATED) {
+            throw new IllegalArgumentException("Cumulative costs are only defined for GRADUATED tiers.");
+        }
+        GraduatedCostTree tree = new GraduatedCostTree(priceConfig.getPriceTiers());
+        priceConfig.addTierListener(tree);
+        return tree;
+    }
+
+    @Override
+    public BigDecimal calculatePrice(int quantity) {
+        Node node = root;
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative.");
+        }
+        if (node == null) {
+            throw new IllegalArgumentException("priceTiers cannot be null or empty.");
+        }
+        if (quantity < first(node).getFrom()) {
+            throw new IllegalArgumentException("Quantity is below the available min range.");
+        }
+        if (quantity > node.lastTo) {
+            throw new IllegalArgumentException("Quantity exceeds maximum tier range.");
+        }
+        if (first(node).getPriceModel() != PriceModel.GRADUATED) {
+            throw new IllegalStateException("Cumulative costs are only defined for GRADUATED tiers.");
+        }
+        if (quantity == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        boolean first = true;
+        while (true) {
+            if (node.left != null && node.left.lastTo >= quantity) {
+                node = node.left;
+                continue;
+            }
+            if (node.left != null) {
+                total = total.add(node.left.sum);
+                first = false;
+            }
+            if (node.tier.getTo() >= quantity) {
+                long units = first ? quantity : (long) quantity - node.tier.getFrom() + 1;
+                return total.add(node.tier.getPriceValue().multiply(BigDecimal.valueOf(units)));
+            }
+            total = total.add(node.subtotal);
+            first = false;
+            node = node.right;
+        }
+    }
+
+    /**
+     * @return The graduated cost of every unit up to and including the given tier.
+     */
+    public BigDecimal getCumulativeCost(int tierIndex) {
+        Node node = root;
+        if (node == null || tierIndex < 0 || tierIndex >= node.size) {
+            throw new IndexOutOfBoundsException("Tier index out of range: " + tierIndex);
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        int remaining = tierIndex;
+        while (true) {
+            int leftSize = node.left == null ? 0 : node.left.size;
+            if (remaining < leftSize) {
+                node = node.left;
+                continue;
+            }
+            if (node.left != null) {
+                total = total.add(node.left.sum);
+            }
+            total = total.add(node.subtotal);
+            if (remaining == leftSize) {
+                return total;
+            }
+            remaining -= leftSize + 1;
+            node = node.right;
+        }
+    }
+
+    @Override
+    public int getMinQuantity() {
+        Node node = root;
+        return node == null ? 1 : first(node).getFrom();
+    }
+
+    @Override
+    public int getMaxQuantity() {
+        Node node = root;
+        return node == null ? 0 : node.lastTo;
+    }
+
+    public int getTierCount() {
+        Node node = root;
+        return node == null ? 0 : node.size;
+    }
+
+    // Edits run on the editing thread of the PriceConfig, which isn't thread-safe either, so they don't race.
+
+    @Override
+    public void tierInserted(int index, PriceTier tier) {
+        Node[] parts = split(root, index);
+        Node inserted = merge(merge(parts[0], Node.of(tier, index == 0, priority())), parts[1]);
+        root = index == 0 ? refreshFirst(inserted, 1) : inserted;
+    }
+
+    @Override
+    public void tierRemoved(int index, PriceTier tier) {
+        Node[] parts = split(root, index);
+        Node remaining = merge(parts[0], split(parts[1], 1)[1]);
+        root = index == 0 ? refreshFirst(remaining, 0) : remaining;
+    }
+
+    @Override
+    public void tierReplaced(int index, PriceTier previous, PriceTier tier) {
+        Node[] parts = split(root, index);
+        Node[] rest = split(parts[1], 1);
+        root = merge(merge(parts[0], Node.of(tier, index == 0, rest[0].priority)), rest[1]);
+    }
+
+    @Override
+    public void tierSplit(int index, PriceTier previous, PriceTier lower, PriceTier upper) {
+        Node[] parts = split(root, index);
+        Node[] rest = split(parts[1], 1);
+        Node halves = merge(Node.of(lower, index == 0, rest[0].priority), Node.of(upper, false, priority()));
+        root = merge(merge(parts[0], halves), rest[1]);
+    }
+
+    @Override
+    public void tiersReset(List<PriceTier> tiers) {
+        Node built = null;
+        for (int i = 0; i < tiers.size(); i++) {
+            built = merge(built, Node.of(tiers.get(i), i == 0, priority()));
+        }
+        root = built;
+    }
+
+    // Recomputes the subtotal of the tier at 'index' after it stopped or started being the first tier.
+    private static Node refreshFirst(Node tree, int index) {
+        if (tree == null || index >= tree.size) {
+            return tree;
+        }
+        Node[] parts = split(tree, index);
+        Node[] rest = split(parts[1], 1);
+        Node refreshed = Node.of(rest[0].tier, index == 0, rest[0].priority);
+        return merge(merge(parts[0], refreshed), rest[1]);
+    }
+
+    // The first 'count' tiers and the rest, copying only the nodes on the split path.
+    private static Node[] split(Node node, int count) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int leftSize = node.left == null ? 0 : node.left.size;
+        if (count <= leftSize) {
+            Node[] parts = split(node.left, count);
+            return new Node[]{parts[0], node.with(parts[1], node.right)};
+        }
+        Node[] parts = split(node.right, count - leftSize - 1);
+        return new Node[]{node.with(node.left, parts[0]), parts[1]};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static PriceTier first(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.tier;
+    }
+
+    private static int priority() {
+        return ThreadLocalRandom.current().nextInt();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.compiled;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices quantities of a single product whose tiers were fixed when the function was created.
+ * Implementations return the same values and throw the same exceptions as
+ * {@link org.example.PriceCalculator#calculatePrice(org.example.pojos.PriceConfig, int)}.
+ */
+public interface PricingFunction {
+
+    /**
+     * @param quantity The quantity for which to calculate the price.
+     * @return The calculated price as a BigDecimal.
+     * @throws IllegalArgumentException If the quantity is invalid or outside the defined price tier ranges.
+     */
+    BigDecimal calculatePrice(int quantity);
+
+    /**
+     * @return The start of the first tier; smaller non-negative quantities are below the min range. If the
+     * function has no tiers, greater than {@link #getMaxQuantity()}. Functions that don't know their range
+     * return 0 and leave every check to calculatePrice.
+     */
+    default int getMinQuantity() {
+        return 0;
+    }
+
+    /**
+     * @return The end of the last tier; larger quantities exceed the maximum tier range. Functions that don't
+     * know their range return {@link Integer#MAX_VALUE}.
+     */
+    default int getMaxQuantity() {
+        return Integer.MAX_VALUE;
+    }
+}
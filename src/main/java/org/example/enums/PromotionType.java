@@ -0,0 +1,6 @@
+package org.example.enums;
+
+public enum PromotionType {
+    PERCENT_OFF,
+    BUY_X_GET_Y
+}
@@ -0,0 +1,22 @@
+package org.example.enums;
+
+public enum QuoteErrorCode {
+    NONE,
+    NEGATIVE_QUANTITY,
+    BELOW_MIN_RANGE,
+    ABOVE_MAX_RANGE,
+    INVALID_PRICE_CONFIG,
+    UNKNOWN_PRODUCT,
+    PRICE_OVERFLOW,
+    REJECTED,
+    UNKNOWN_CURRENCY;
+
+    private static final QuoteErrorCode[] VALUES = values();
+
+    public static QuoteErrorCode fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown quote error code: " + code);
+        }
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event emitted when a PriceConfig re-sorts and re-validates its tiers.
+ */
+@Name(PriceConfigRebuildEvent.NAME)
+@Label("Price Config Rebuild")
+@Category({"Pricing"})
+@Description("Sorting and validation of the price tiers of a PriceConfig")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PriceConfigRebuildEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "org.example.PriceConfigRebuild";
+
+    @Label("Product Id")
+    public String productId;
+
+    @Label("Tier Count")
+    public int tierCount;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,42 @@
+package org.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event emitted for every quote that takes longer than the configured threshold.
+ * Fields are only populated when {@link #shouldCommit()} is true, so a disabled or
+ * below-threshold event costs little more than two timestamp reads.
+ */
+@Name(PriceQuoteEvent.NAME)
+@Label("Price Quote")
+@Category({"Pricing"})
+@Description("A price calculation performed by PriceCalculator")
+@StackTrace(false)
+@Threshold("1 ms")
+public class PriceQuoteEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "org.example.PriceQuote";
+
+    @Label("Product Id")
+    public String productId;
+
+    @Label("Price Model")
+    public String model;
+
+    @Label("Tier Count")
+    public int tierCount;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Rejection Reason")
+    public String rejectionReason;
+}
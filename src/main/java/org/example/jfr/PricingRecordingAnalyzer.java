@@ -0,0 +1,138 @@
+package org.example.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns a {@code .jfr} recording into a per-product/per-model latency report of the
+ * pricing events emitted by PriceCalculator and PriceConfig.
+ * <p>
+ * Usage: {@code java org.example.jfr.PricingRecordingAnalyzer recording.jfr}
+ */
+public class PricingRecordingAnalyzer {
+
+    private final Map<String, LatencyHistogram> quotes = new TreeMap<>();
+    private final Map<String, LatencyHistogram> rebuilds = new TreeMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PricingRecordingAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+        System.out.print(analyze(Path.of(args[0])).report());
+    }
+
+    /**
+     * Reads every pricing event of the given recording.
+     *
+     * @param recording Path of the {@code .jfr} file.
+     * @return The analyzer holding the aggregated latencies.
+     * @throws IOException If the recording can't be read.
+     */
+    public static PricingRecordingAnalyzer analyze(Path recording) throws IOException {
+        PricingRecordingAnalyzer analyzer = new PricingRecordingAnalyzer();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                analyzer.accept(file.readEvent());
+            }
+        }
+        return analyzer;
+    }
+
+    void accept(RecordedEvent event) {
+        String name = event.getEventType().getName();
+        long nanos = event.getDuration().toNanos();
+        if (PriceQuoteEvent.NAME.equals(name)) {
+            String key = event.getString("productId") + " / " + event.getString("model");
+            quotes.computeIfAbsent(key, k -> new LatencyHistogram())
+                    .record(nanos, event.getBoolean("success"));
+        } else if (PriceConfigRebuildEvent.NAME.equals(name)) {
+            rebuilds.computeIfAbsent(event.getString("productId"), k -> new LatencyHistogram())
+                    .record(nanos, event.getBoolean("valid"));
+        }
+    }
+
+    /**
+     * @return Quote latencies keyed by "productId / model".
+     */
+    public Map<String, LatencyHistogram> getQuotes() {
+        return quotes;
+    }
+
+    /**
+     * @return PriceConfig rebuild latencies keyed by productId.
+     */
+    public Map<String, LatencyHistogram> getRebuilds() {
+        return rebuilds;
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        appendTable(report, "Quotes (product / model)", "rejected", quotes);
+        report.append(System.lineSeparator());
+        appendTable(report, "PriceConfig rebuilds (product)", "invalid", rebuilds);
+        return report.toString();
+    }
+
+    private static void appendTable(StringBuilder report, String title, String failureLabel,
+                                    Map<String, LatencyHistogram> rows) {
+        report.append(title).append(System.lineSeparator());
+        report.append(String.format("%-40s %8s %8s %10s %10s %10s %10s%n",
+                "key", "count", failureLabel, "p50(us)", "p90(us)", "p99(us)", "max(us)"));
+        rows.forEach((key, histogram) -> report.append(String.format("%-40s %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                key, histogram.getCount(), histogram.getFailures(),
+                histogram.percentile(50) / 1_000.0, histogram.percentile(90) / 1_000.0,
+                histogram.percentile(99) / 1_000.0, histogram.max() / 1_000.0)));
+    }
+
+    /**
+     * Durations of one group of events, in nanoseconds.
+     */
+    public static class LatencyHistogram {
+        private long[] durations = new long[16];
+        private int count;
+        private int failures;
+        private boolean sorted = true;
+
+        void record(long nanos, boolean success) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = nanos;
+            sorted = false;
+            if (!success) {
+                failures++;
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(durations, 0, count);
+                sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return durations[Math.max(0, Math.min(count, rank) - 1)];
+        }
+
+        public long max() {
+            return percentile(100);
+        }
+    }
+}
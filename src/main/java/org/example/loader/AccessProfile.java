@@ -0,0 +1,85 @@
+package org.example.loader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-product access counts, persisted between runs so a restarted node knows which
+ * products to pre-compile first.
+ * <p>
+ * The file format is one {@code productId<TAB>count} line per product.
+ */
+public class AccessProfile {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void record(String productId) {
+        counts.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    public long getCount(String productId) {
+        LongAdder count = counts.get(productId);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * @param limit Maximum number of products to return.
+     * @return The most accessed product ids, hottest first.
+     */
+    public List<String> topProducts(int limit) {
+        return counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public static AccessProfile load(Path file) throws IOException {
+        AccessProfile profile = new AccessProfile();
+        if (!Files.exists(file)) {
+            return profile;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.lastIndexOf('\t');
+                if (separator <= 0) {
+                    continue;
+                }
+                String productId = line.substring(0, separator);
+                long count = Long.parseLong(line.substring(separator + 1));
+                profile.counts.computeIfAbsent(productId, id -> new LongAdder()).add(count);
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Writes the profile to a temporary file first and moves it into place, so a crash never
+     * leaves a truncated profile behind.
+     */
+    public void save(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(Long.toString(entry.getValue().sum()));
+                writer.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
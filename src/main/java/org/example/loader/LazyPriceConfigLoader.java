@@ -0,0 +1,104 @@
+package org.example.loader;
+
+import org.example.compiled.CompiledPriceConfig;
+import org.example.pojos.PriceConfig;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Compiles each product's PriceConfig on first access instead of compiling the whole catalog at startup.
+ * <p>
+ * Concurrent first hits on the same product are deduplicated: one caller compiles, the others wait for
+ * its result. A failed compilation is not cached, so the next access retries.
+ */
+public class LazyPriceConfigLoader {
+
+    private final Function<String, PriceConfig> source;
+    private final AccessProfile accessProfile;
+    private final ConcurrentMap<String, CompletableFuture<CompiledPriceConfig>> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * @param source        Looks up the current PriceConfig of a product, returning null if there is none.
+     * @param accessProfile Receives one access per {@link #get(String)} call.
+     */
+    public LazyPriceConfigLoader(Function<String, PriceConfig> source, AccessProfile accessProfile) {
+        this.source = Objects.requireNonNull(source, "source can't be null");
+        this.accessProfile = Objects.requireNonNull(accessProfile, "accessProfile can't be null");
+    }
+
+    /**
+     * Returns the compiled configuration of a product, compiling it if this is the first access.
+     *
+     * @param productId The product to look up.
+     * @return The compiled price configuration.
+     * @throws IllegalArgumentException If the product has no price configuration.
+     */
+    public CompiledPriceConfig get(String productId) {
+        accessProfile.record(productId);
+        return load(productId);
+    }
+
+    /**
+     * Compiles a product ahead of its first access without counting it as an access.
+     */
+    public CompiledPriceConfig preload(String productId) {
+        return load(productId);
+    }
+
+    /**
+     * Drops the compiled configuration of a product, e.g. after its tiers changed.
+     * The next access compiles the current PriceConfig again.
+     */
+    public void invalidate(String productId) {
+        compiled.remove(productId);
+    }
+
+    public boolean isCompiled(String productId) {
+        CompletableFuture<CompiledPriceConfig> future = compiled.get(productId);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    PriceConfig getPriceConfig(String productId) {
+        PriceConfig priceConfig = source.apply(productId);
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration not found for product: " + productId);
+        }
+        return priceConfig;
+    }
+
+    private CompiledPriceConfig load(String productId) {
+        CompletableFuture<CompiledPriceConfig> future = compiled.get(productId);
+        if (future == null) {
+            CompletableFuture<CompiledPriceConfig> created = new CompletableFuture<>();
+            future = compiled.putIfAbsent(productId, created);
+            if (future == null) {
+                future = created;
+                // Compile outside of the map so other products are never blocked by this one.
+                // Errors too: a future left incomplete would block every later caller for the product forever.
+                try {
+                    created.complete(CompiledPriceConfig.compile(getPriceConfig(productId)));
+                } catch (Throwable throwable) {
+                    compiled.remove(productId, created);
+                    created.completeExceptionally(throwable);
+                    throw throwable;
+                }
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.loader;
+
+import org.example.PriceCalculator;
+import org.example.compiled.CompiledPriceConfig;
+import org.example.pojos.PriceConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pre-compiles the hottest products of an access profile in the background and runs their quotes
+ * through PriceCalculator and CompiledPriceConfig so the JIT has compiled both paths before the node
+ * reports ready.
+ */
+public class PricingWarmer {
+
+    private final LazyPriceConfigLoader loader;
+    private final PriceCalculator calculator;
+    private final int topProducts;
+    private final int iterationsPerProduct;
+    private volatile boolean ready;
+    // Keeps the warm-up results observable so the JIT can't discard the calls.
+    private volatile int sink;
+
+    /**
+     * @param loader               The loader whose products get pre-compiled.
+     * @param calculator           The calculator to exercise.
+     * @param topProducts          How many of the hottest products to warm.
+     * @param iterationsPerProduct How many quotes to run per warmed product and path.
+     */
+    public PricingWarmer(LazyPriceConfigLoader loader, PriceCalculator calculator, int topProducts, int iterationsPerProduct) {
+        if (topProducts < 0 || iterationsPerProduct < 0) {
+            throw new IllegalArgumentException("topProducts and iterationsPerProduct must be non-negative.");
+        }
+        this.loader = Objects.requireNonNull(loader, "loader can't be null");
+        this.calculator = Objects.requireNonNull(calculator, "calculator can't be null");
+        this.topProducts = topProducts;
+        this.iterationsPerProduct = iterationsPerProduct;
+    }
+
+    /**
+     * Starts warming on a daemon thread.
+     *
+     * @param profile The access profile of a previous run.
+     * @return A future that completes once warming has finished and {@link #isReady()} is true.
+     */
+    public CompletableFuture<Void> start(AccessProfile profile) {
+        List<String> products = profile.topProducts(topProducts);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                warm(products);
+                done.complete(null);
+            } catch (Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+        }, "pricing-warmer");
+        thread.setDaemon(true);
+        thread.start();
+        return done;
+    }
+
+    /**
+     * Warms the given products on the calling thread.
+     */
+    public void warm(List<String> productIds) {
+        for (String productId : productIds) {
+            try {
+                PriceConfig priceConfig = loader.getPriceConfig(productId);
+                CompiledPriceConfig compiledConfig = loader.preload(productId);
+                exercise(priceConfig, compiledConfig);
+            } catch (IllegalArgumentException exception) {
+                // A product that was deleted or can't be priced since the profile was written isn't worth failing readiness for.
+            }
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void exercise(PriceConfig priceConfig, CompiledPriceConfig compiledConfig) {
+        int tierCount = compiledConfig.getTierCount();
+        if (tierCount == 0) {
+            return;
+        }
+        int hash = 0;
+        for (int i = 0; i < iterationsPerProduct; i++) {
+            // Cycle through the start, middle and end of every tier so each branch gets profiled.
+            int tierIndex = (i / 3) % tierCount;
+            int from = compiledConfig.getFrom(tierIndex);
+            int to = compiledConfig.getTo(tierIndex);
+            int quantity = switch (i % 3) {
+                case 0 -> from;
+                case 1 -> from + (to - from) / 2;
+                default -> to;
+            };
+            BigDecimal price = calculator.calculatePrice(priceConfig, quantity);
+            hash += price.hashCode() ^ compiledConfig.calculatePrice(quantity).hashCode();
+        }
+        sink += hash;
+    }
+}
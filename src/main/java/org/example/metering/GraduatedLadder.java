@@ -0,0 +1,120 @@
+package org.example.metering;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A GRADUATED PriceConfig reduced to long arithmetic for metered usage.
+ * <p>
+ * All prices are rescaled to the largest scale among the tiers, so charges are unscaled longs at
+ * {@link #getScale()}. Units are charged like calculatePrice does: the first tier covers units 1..to and
+ * tier i covers to(i-1)+1..to(i). A last tier ending at Integer.MAX_VALUE is treated as open-ended, which
+ * lets usage grow past the int range of PriceTier.
+ */
+public final class GraduatedLadder {
+
+    private final int scale;
+    // Units covered up to and including tier i.
+    private final long[] upper;
+    private final long[] unitPrices;
+    // Charge for all units up to and including tier i; unused for an open-ended last tier.
+    private final long[] cumulativeCharges;
+
+    private GraduatedLadder(List<PriceTier> tiers) {
+        int size = tiers.size();
+        int maxScale = Integer.MIN_VALUE;
+        for (PriceTier tier : tiers) {
+            maxScale = Math.max(maxScale, tier.getPriceValue().scale());
+        }
+        this.scale = maxScale;
+        this.upper = new long[size];
+        this.unitPrices = new long[size];
+        this.cumulativeCharges = new long[size];
+
+        long charge = 0;
+        for (int i = 0; i < size; i++) {
+            PriceTier tier = tiers.get(i);
+            upper[i] = tier.getTo();
+            unitPrices[i] = tier.getPriceValue().setScale(scale).unscaledValue().longValueExact();
+            if (i == size - 1 && tier.getTo() == Integer.MAX_VALUE) {
+                upper[i] = Long.MAX_VALUE;
+            } else {
+                long units = i == 0 ? tier.getTo() : (long) tier.getTo() - tiers.get(i - 1).getTo();
+                charge = Math.addExact(charge, Math.multiplyExact(unitPrices[i], units));
+                cumulativeCharges[i] = charge;
+            }
+        }
+    }
+
+    /**
+     * @param priceConfig A price configuration with GRADUATED tiers.
+     * @return The ladder for metering usage against it.
+     * @throws IllegalArgumentException If the configuration is null, empty or not GRADUATED.
+     * @throws ArithmeticException      If a price or a bounded tier's charge doesn't fit a long.
+     */
+    public static GraduatedLadder of(PriceConfig priceConfig) {
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration cannot be null.");
+        }
+        List<PriceTier> tiers = priceConfig.getPriceTiers();
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("priceTiers cannot be null or empty.");
+        }
+        if (tiers.get(0).getPriceModel() != PriceModel.GRADUATED) {
+            throw new IllegalArgumentException("Metering requires GRADUATED price tiers.");
+        }
+        return new GraduatedLadder(tiers);
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public int getTierCount() {
+        return upper.length;
+    }
+
+    /**
+     * @return The largest usage the ladder can charge for.
+     */
+    public long getMaxUsage() {
+        return upper[upper.length - 1];
+    }
+
+    /**
+     * Moves a tier index forward until its tier covers the given usage. Usage only grows within a period,
+     * so this visits each tier at most once per counter and period.
+     *
+     * @throws IllegalArgumentException If the usage exceeds the last tier.
+     */
+    public int advance(int tier, long usage) {
+        if (usage > getMaxUsage()) {
+            throw new IllegalArgumentException("Quantity exceeds maximum tier range.");
+        }
+        while (usage > upper[tier]) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * @param usage Units used so far, within the ladder.
+     * @param tier  The tier covering the usage, as returned by {@link #advance(int, long)}.
+     * @return The charge for the usage, unscaled at {@link #getScale()}.
+     * @throws ArithmeticException If the charge doesn't fit a long.
+     */
+    public long charge(long usage, int tier) {
+        if (tier == 0) {
+            return Math.multiplyExact(unitPrices[0], usage);
+        }
+        return Math.addExact(cumulativeCharges[tier - 1], Math.multiplyExact(unitPrices[tier], usage - upper[tier - 1]));
+    }
+
+    public BigDecimal toPrice(long unscaledCharge) {
+        return BigDecimal.valueOf(unscaledCharge, scale);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.metering;
+
+import java.math.BigDecimal;
+
+/**
+ * Frozen counters of one product at the close of a billing period. Charges are derived on read from the
+ * usage and tier of each counter.
+ */
+public class MeterSnapshot {
+
+    private final GraduatedLadder ladder;
+    private final long[] customers;
+    private final long[] usage;
+    private final int[] tiers;
+    private final boolean[] used;
+    private final int size;
+
+    MeterSnapshot(GraduatedLadder ladder, long[] customers, long[] usage, int[] tiers, boolean[] used, int size) {
+        this.ladder = ladder;
+        this.customers = customers;
+        this.usage = usage;
+        this.tiers = tiers;
+        this.used = used;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getUsage(long customerId) {
+        int slot = find(customerId);
+        return slot < 0 ? 0 : usage[slot];
+    }
+
+    public BigDecimal getCharge(long customerId) {
+        int slot = find(customerId);
+        return ladder.toPrice(slot < 0 ? 0 : ladder.charge(usage[slot], tiers[slot]));
+    }
+
+    /**
+     * Visits every counter of the period, in no particular order.
+     */
+    public void forEach(Visitor visitor) {
+        for (int slot = 0; slot < customers.length; slot++) {
+            if (used[slot]) {
+                visitor.visit(customers[slot], usage[slot], ladder.toPrice(ladder.charge(usage[slot], tiers[slot])));
+            }
+        }
+    }
+
+    private int find(long customerId) {
+        int mask = customers.length - 1;
+        for (int slot = MeterTable.indexFor(customerId, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (customers[slot] == customerId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long customerId, long usage, BigDecimal charge);
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.metering;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Running usage counters of one product for every customer in the current billing period.
+ * <p>
+ * Counters are kept in flat open-addressing arrays (customer id, usage, current tier) instead of one object
+ * per customer, which costs about 30 bytes per counter. Each usage increment advances the counter's tier
+ * index past the boundaries it crossed and derives the charge from the tier's precomputed cumulative charge,
+ * so it never re-walks the ladder.
+ */
+public class MeterTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final GraduatedLadder ladder;
+    private long[] customers;
+    private long[] usage;
+    private int[] tiers;
+    private boolean[] used;
+    private int size;
+
+    public MeterTable(GraduatedLadder ladder) {
+        this.ladder = Objects.requireNonNull(ladder, "ladder can't be null");
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds usage to a customer's counter.
+     *
+     * @param customerId The customer.
+     * @param units      Units used since the last call, non-negative.
+     * @return The customer's charge for the period so far, unscaled at the ladder's scale.
+     * @throws IllegalArgumentException If units is negative or the usage would exceed the ladder;
+     *                                  the counter is left unchanged.
+     */
+    public synchronized long record(long customerId, long units) {
+        if (units < 0) {
+            throw new IllegalArgumentException("Usage cannot be negative.");
+        }
+        // Validate before inserting, so a rejected first increment doesn't leave an empty counter behind.
+        int slot = find(customerId);
+        long newUsage = (slot < 0 ? 0 : usage[slot]) + units;
+        if (newUsage < 0) {
+            throw new IllegalArgumentException("Quantity exceeds maximum tier range.");
+        }
+        int tier = ladder.advance(slot < 0 ? 0 : tiers[slot], newUsage);
+        long charge = ladder.charge(newUsage, tier);
+        if (slot < 0) {
+            slot = findOrInsert(customerId);
+        }
+        usage[slot] = newUsage;
+        tiers[slot] = tier;
+        return charge;
+    }
+
+    public synchronized long getUsage(long customerId) {
+        int slot = find(customerId);
+        return slot < 0 ? 0 : usage[slot];
+    }
+
+    public synchronized BigDecimal getCharge(long customerId) {
+        int slot = find(customerId);
+        return ladder.toPrice(slot < 0 ? 0 : ladder.charge(usage[slot], tiers[slot]));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public GraduatedLadder getLadder() {
+        return ladder;
+    }
+
+    /**
+     * Ends the billing period: hands the current counters over to a snapshot without copying them and
+     * starts the next period with empty counters.
+     */
+    public synchronized MeterSnapshot closePeriod() {
+        MeterSnapshot snapshot = new MeterSnapshot(ladder, customers, usage, tiers, used, size);
+        allocate(INITIAL_CAPACITY);
+        return snapshot;
+    }
+
+    private void allocate(int capacity) {
+        customers = new long[capacity];
+        usage = new long[capacity];
+        tiers = new int[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    static int indexFor(long customerId, int mask) {
+        long hash = customerId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private int find(long customerId) {
+        int mask = customers.length - 1;
+        for (int slot = indexFor(customerId, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (customers[slot] == customerId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findOrInsert(long customerId) {
+        int mask = customers.length - 1;
+        int slot = indexFor(customerId, mask);
+        while (used[slot]) {
+            if (customers[slot] == customerId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 4 > customers.length * 3) {
+            grow();
+            return findOrInsert(customerId);
+        }
+        used[slot] = true;
+        customers[slot] = customerId;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldCustomers = customers;
+        long[] oldUsage = usage;
+        int[] oldTiers = tiers;
+        boolean[] oldUsed = used;
+        allocate(oldCustomers.length * 2);
+        int mask = customers.length - 1;
+        for (int i = 0; i < oldCustomers.length; i++) {
+            if (!oldUsed[i]) {
+                continue;
+            }
+            int slot = indexFor(oldCustomers[i], mask);
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            customers[slot] = oldCustomers[i];
+            usage[slot] = oldUsage[i];
+            tiers[slot] = oldTiers[i];
+            size++;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.metering;
+
+import org.example.pojos.PriceConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Metering accumulators for every (customer, product) pair, one {@link MeterTable} per product.
+ */
+public class UsageMeters {
+
+    private final ConcurrentMap<String, MeterTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Starts metering a product. Registering a product that is already metered keeps its current
+     * counters and ladder.
+     *
+     * @throws IllegalArgumentException If the configuration isn't GRADUATED.
+     */
+    public void register(PriceConfig priceConfig) {
+        GraduatedLadder ladder = GraduatedLadder.of(priceConfig);
+        tables.putIfAbsent(priceConfig.getProductId(), new MeterTable(ladder));
+    }
+
+    /**
+     * @return The customer's charge for the product so far in the period, unscaled at the ladder's scale.
+     * @throws IllegalArgumentException If the product isn't metered or the usage is invalid.
+     */
+    public long record(String productId, long customerId, long units) {
+        return table(productId).record(customerId, units);
+    }
+
+    public MeterTable table(String productId) {
+        MeterTable table = tables.get(productId);
+        if (table == null) {
+            throw new IllegalArgumentException("Price configuration not found for product: " + productId);
+        }
+        return table;
+    }
+
+    /**
+     * Closes the billing period of every product.
+     *
+     * @return The final counters, keyed by productId.
+     */
+    public Map<String, MeterSnapshot> closePeriod() {
+        Map<String, MeterSnapshot> snapshots = new HashMap<>();
+        tables.forEach((productId, table) -> snapshots.put(productId, table.closePeriod()));
+        return snapshots;
+    }
+}
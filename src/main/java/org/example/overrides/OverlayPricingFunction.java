@@ -0,0 +1,137 @@
+package org.example.overrides;
+
+import org.example.compiled.CompiledPriceConfig;
+import org.example.compiled.PricingFunction;
+import org.example.pojos.PriceOverride;
+import org.example.pojos.PriceRangeOverride;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A customer's view of a product: the shared compiled base ladder with the override ranges laid on top.
+ * <p>
+ * The base tiers are never copied. The view only holds the override ranges and, for GRADUATED ladders,
+ * the price difference each range makes, so a quote is one base quote plus a binary search over the ranges.
+ * Range checks and error messages are those of the base ladder. For FLAT and VOLUME ladders an override
+ * keeps the model of the base tier it falls in and only replaces its price.
+ */
+public final class OverlayPricingFunction implements PricingFunction {
+
+    private final CompiledPriceConfig base;
+    private final PriceOverride override;
+    private final int[] from;
+    private final int[] to;
+    private final BigDecimal[] prices;
+    // Graduated only: base cost of the units before range r, and the sum of the differences of ranges 0..r-1.
+    private final BigDecimal[] costBefore;
+    private final BigDecimal[] differencePrefix;
+
+    /**
+     * @param base     The compiled base configuration of the product.
+     * @param override The customer's override of that product.
+     * @throws IllegalArgumentException If an override range ends past the last base tier.
+     */
+    public OverlayPricingFunction(CompiledPriceConfig base, PriceOverride override) {
+        this.base = Objects.requireNonNull(base, "base can't be null");
+        this.override = Objects.requireNonNull(override, "override can't be null");
+        List<PriceRangeOverride> ranges = override.getRanges();
+        int maxTo = base.getTierCount() == 0 ? -1 : base.getTo(base.getTierCount() - 1);
+        int size = 0;
+        for (PriceRangeOverride range : ranges) {
+            if (range.getTo() > maxTo) {
+                throw new IllegalArgumentException("Override range exceeds the maximum tier range.");
+            }
+            // A graduated ladder bills units from 1, so a range covering only quantity 0 changes nothing.
+            if (!base.isGraduated() || range.getTo() > 0) {
+                size++;
+            }
+        }
+        this.from = new int[size];
+        this.to = new int[size];
+        this.prices = new BigDecimal[size];
+        int index = 0;
+        for (PriceRangeOverride range : ranges) {
+            if (!base.isGraduated() || range.getTo() > 0) {
+                from[index] = base.isGraduated() ? Math.max(range.getFrom(), 1) : range.getFrom();
+                to[index] = range.getTo();
+                prices[index] = range.getPriceValue();
+                index++;
+            }
+        }
+        if (base.isGraduated()) {
+            costBefore = new BigDecimal[size];
+            differencePrefix = new BigDecimal[size + 1];
+            differencePrefix[0] = BigDecimal.ZERO;
+            for (int r = 0; r < size; r++) {
+                costBefore[r] = base.graduatedCost(from[r] - 1);
+                BigDecimal baseCost = base.graduatedCost(to[r]).subtract(costBefore[r]);
+                BigDecimal overrideCost = prices[r].multiply(BigDecimal.valueOf((long) to[r] - from[r] + 1));
+                differencePrefix[r + 1] = differencePrefix[r].add(overrideCost.subtract(baseCost));
+            }
+        } else {
+            costBefore = null;
+            differencePrefix = null;
+        }
+    }
+
+    @Override
+    public BigDecimal calculatePrice(int quantity) {
+        BigDecimal basePrice = base.calculatePrice(quantity);
+        int range = lastRangeStartingAtOrBefore(quantity);
+        if (range < 0) {
+            return basePrice;
+        }
+        if (base.isGraduated()) {
+            if (quantity > to[range]) {
+                return basePrice.add(differencePrefix[range + 1]);
+            }
+            BigDecimal partial = prices[range].multiply(BigDecimal.valueOf((long) quantity - from[range] + 1));
+            return differencePrefix[range].add(costBefore[range]).add(partial);
+        }
+        if (quantity > to[range]) {
+            return basePrice;
+        }
+        return switch (base.getPriceModel(base.findTierIndex(quantity))) {
+            case FLAT -> prices[range];
+            case VOLUME -> prices[range].multiply(BigDecimal.valueOf(quantity));
+            default -> throw new IllegalArgumentException("Unsupported pricing model.");
+        };
+    }
+
+    // Overrides never extend the base ladder, so its range is the view's range.
+    @Override
+    public int getMinQuantity() {
+        return base.getMinQuantity();
+    }
+
+    @Override
+    public int getMaxQuantity() {
+        return base.getMaxQuantity();
+    }
+
+    private int lastRangeStartingAtOrBefore(int quantity) {
+        int low = 0;
+        int high = from.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (from[mid] <= quantity) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    public CompiledPriceConfig getBase() {
+        return base;
+    }
+
+    public PriceOverride getOverride() {
+        return override;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.overrides;
+
+import org.example.compiled.CompiledPriceConfig;
+import org.example.compiled.PricingFunction;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceOverride;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Resolves the pricing of a (customer, product) pair: the product's base PriceConfig with the customer's
+ * override laid on top, if there is one.
+ * <p>
+ * Every product is compiled once and shared by all of its customers' views. Views are cached per
+ * (customer, product) and rebuilt when either side changes: the base through {@link PriceConfig#getVersion()},
+ * the override through {@link #putOverride(PriceOverride)} or {@link #removeOverride(String, String)}.
+ */
+public class PriceOverrideResolver {
+
+    private record Key(String customerId, String productId) {
+    }
+
+    private record CompiledBase(PriceConfig priceConfig, long version, CompiledPriceConfig compiled) {
+    }
+
+    private final Function<String, PriceConfig> source;
+    private final ConcurrentMap<String, CompiledBase> bases = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, PriceOverride> overrides = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, OverlayPricingFunction> views = new ConcurrentHashMap<>();
+
+    /**
+     * @param source Looks up the current PriceConfig of a product, returning null if there is none.
+     */
+    public PriceOverrideResolver(Function<String, PriceConfig> source) {
+        this.source = Objects.requireNonNull(source, "source can't be null");
+    }
+
+    /**
+     * Adds or replaces the override of its (customer, product) pair.
+     */
+    public void putOverride(PriceOverride override) {
+        Objects.requireNonNull(override, "override can't be null");
+        Key key = new Key(override.getCustomerId(), override.getProductId());
+        overrides.put(key, override);
+        views.remove(key);
+    }
+
+    public void removeOverride(String customerId, String productId) {
+        Key key = new Key(customerId, productId);
+        overrides.remove(key);
+        views.remove(key);
+    }
+
+    /**
+     * Drops the compiled base of a product and every view built on it. Tier changes made through the
+     * PriceConfig are picked up without this; call it after editing a PriceTier in place.
+     */
+    public void invalidateProduct(String productId) {
+        bases.remove(productId);
+        views.keySet().removeIf(key -> key.productId().equals(productId));
+    }
+
+    /**
+     * @return The pricing function of the pair; the shared base if the customer has no override.
+     * @throws IllegalArgumentException If the product has no price configuration, or the override doesn't fit it.
+     */
+    public PricingFunction resolve(String customerId, String productId) {
+        CompiledPriceConfig base = compiledBase(productId);
+        Key key = new Key(customerId, productId);
+        PriceOverride override = overrides.get(key);
+        if (override == null) {
+            return base;
+        }
+        OverlayPricingFunction view = views.get(key);
+        if (view == null || view.getBase() != base || view.getOverride() != override) {
+            view = new OverlayPricingFunction(base, override);
+            views.put(key, view);
+        }
+        return view;
+    }
+
+    public BigDecimal calculatePrice(String customerId, String productId, int quantity) {
+        return resolve(customerId, productId).calculatePrice(quantity);
+    }
+
+    private CompiledPriceConfig compiledBase(String productId) {
+        PriceConfig priceConfig = source.apply(productId);
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration not found for product: " + productId);
+        }
+        CompiledBase cached = bases.get(productId);
+        if (cached != null && cached.priceConfig() == priceConfig && cached.version() == priceConfig.getVersion()) {
+            return cached.compiled();
+        }
+        long version = priceConfig.getVersion();
+        CompiledBase compiled = new CompiledBase(priceConfig, version, CompiledPriceConfig.compile(priceConfig));
+        bases.put(productId, compiled);
+        return compiled.compiled();
+    }
+}
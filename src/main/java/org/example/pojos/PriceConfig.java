@@ -1,16 +1,24 @@
 package org.example.pojos;
 
 import org.example.enums.PriceModel;
+import org.example.jfr.PriceConfigRebuildEvent;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class PriceConfig {
 
     private String productId;
     private List<PriceTier> priceTiers;
+    private long version; // Bumped on every tier change, so derived structures can detect stale copies.
+    private final List<PriceTierListener> listeners = new CopyOnWriteArrayList<>();
+    // Immutable copy of the tiers as of snapshotVersion, taken at most once per version.
+    private List<PriceTier> tierSnapshot;
+    private long snapshotVersion;
 
     public PriceConfig(String productId) {
         this(productId, new ArrayList<>());
@@ -35,28 +43,134 @@ public class PriceConfig {
         return Collections.unmodifiableList(priceTiers); // Return an unmodifiable list
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return An immutable copy of the current tiers that later ladder edits don't affect. It is only copied
+     * once per version, so repeated calls between edits return the same list. Tiers edited in place through
+     * their own setters are shared with the copy.
+     */
+    public List<PriceTier> getTierSnapshot() {
+        if (tierSnapshot == null || snapshotVersion != version) {
+            tierSnapshot = List.copyOf(priceTiers);
+            snapshotVersion = version;
+        }
+        return tierSnapshot;
+    }
+
     public void setPriceTiers(List<PriceTier> priceTiers) {
         this.priceTiers = new ArrayList<>(priceTiers);
         sortAndValidateTiers();
+        List<PriceTier> tiers = getPriceTiers();
+        listeners.forEach(listener -> listener.tiersReset(tiers));
     }
 
+    /**
+     * Adds a tier at either end of the ladder. Only the neighbouring tiers are checked, so this costs a binary
+     * search rather than a re-sort of the ladder; a rejected tier leaves the ladder unchanged.
+     */
     public void addPriceTier(PriceTier priceTier) {
         Objects.requireNonNull(priceTier, "priceTier can't be null");
-        priceTiers.add(priceTier);
-        sortAndValidateTiers();
+        int index = insertionIndex(priceTier.getFrom());
+        validateNeighbours(index, priceTier);
+        priceTiers.add(index, priceTier);
+        version++;
+        listeners.forEach(listener -> listener.tierInserted(index, priceTier));
     }
 
     public void removePriceTier(PriceTier priceTier) {
         Objects.requireNonNull(priceTier, "priceTier can't be null");
-        if (!priceTiers.contains(priceTier)) {
+        int index = insertionIndex(priceTier.getFrom()) - 1;
+        if (index < 0 || !priceTiers.get(index).equals(priceTier)) {
             throw new IllegalArgumentException("Price tier not found.");
         }
         if (priceTiers.size() <= 1) {
             throw new IllegalStateException("Cannot remove the last tier.");
         }
+        // Removing anything but an end tier would leave a gap.
+        if (index > 0 && index < priceTiers.size() - 1) {
+            throw new IllegalArgumentException("Price tiers must be contiguous and non-overlapping.");
+        }
 
-        priceTiers.remove(priceTier);
-        sortAndValidateTiers();
+        PriceTier removed = priceTiers.remove(index);
+        version++;
+        listeners.forEach(listener -> listener.tierRemoved(index, removed));
+    }
+
+    /**
+     * Changes the price of one tier, keeping its range and model.
+     */
+    public void setTierPrice(int tierIndex, BigDecimal priceValue) {
+        PriceTier previous = priceTiers.get(tierIndex);
+        replaceTier(tierIndex, new PriceTier(previous.getFrom(), previous.getTo(), priceValue, previous.getPriceModel()));
+    }
+
+    /**
+     * Inserts a breakpoint: the tier containing {@code quantity} is split into one tier that ends just below it,
+     * at the old price, and one that starts at it, at {@code upperPriceValue}.
+     *
+     * @throws IllegalArgumentException If the quantity is not above the start of a tier.
+     */
+    public void splitTier(int quantity, BigDecimal upperPriceValue) {
+        Objects.requireNonNull(upperPriceValue, "priceValue can't be null");
+        int index = insertionIndex(quantity) - 1;
+        if (index < 0 || quantity <= priceTiers.get(index).getFrom() || quantity > priceTiers.get(index).getTo()) {
+            throw new IllegalArgumentException("Breakpoint must fall inside a tier, above its start.");
+        }
+        PriceTier tier = priceTiers.get(index);
+        PriceTier lower = new PriceTier(tier.getFrom(), quantity - 1, tier.getPriceValue(), tier.getPriceModel());
+        PriceTier upper = new PriceTier(quantity, tier.getTo(), upperPriceValue, tier.getPriceModel());
+        priceTiers.set(index, lower);
+        priceTiers.add(index + 1, upper);
+        version++;
+        // One event, so listeners never see the narrowed tier without the upper half after it.
+        listeners.forEach(listener -> listener.tierSplit(index, tier, lower, upper));
+    }
+
+    public void addTierListener(PriceTierListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener can't be null"));
+    }
+
+    public void removeTierListener(PriceTierListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void replaceTier(int index, PriceTier tier) {
+        PriceTier previous = priceTiers.set(index, tier);
+        version++;
+        listeners.forEach(listener -> listener.tierReplaced(index, previous, tier));
+    }
+
+    // Number of tiers starting at or below 'from'.
+    private int insertionIndex(int from) {
+        int low = 0;
+        int high = priceTiers.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priceTiers.get(mid).getFrom() <= from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Checks a tier about to be inserted at 'index' against the tiers it would sit between.
+    private void validateNeighbours(int index, PriceTier tier) {
+        if (priceTiers.isEmpty()) {
+            return;
+        }
+        boolean hasGraduated = priceTiers.get(0).getPriceModel() == PriceModel.GRADUATED;
+        if (tier.getPriceModel() == PriceModel.GRADUATED != hasGraduated) {
+            throw new IllegalArgumentException("All price models must be the same (either GRADUATED or non-GRADUATED)");
+        }
+        if (index > 0 && tier.getFrom() != priceTiers.get(index - 1).getTo() + 1
+                || index < priceTiers.size() && priceTiers.get(index).getFrom() != tier.getTo() + 1) {
+            throw new IllegalArgumentException("Price tiers must be contiguous and non-overlapping.");
+        }
     }
 
     private String validateProductId(String productId) {
@@ -68,11 +182,24 @@ public class PriceConfig {
 
 
     private void sortAndValidateTiers() {
+        version++;
         if(priceTiers.isEmpty())
             return;
-        if(priceTiers.size() > 1)
-            priceTiers.sort(Comparator.comparingInt(PriceTier::getFrom));
-        validateTiers();
+        PriceConfigRebuildEvent event = new PriceConfigRebuildEvent();
+        event.begin();
+        try {
+            if(priceTiers.size() > 1)
+                priceTiers.sort(Comparator.comparingInt(PriceTier::getFrom));
+            validateTiers();
+            event.valid = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.productId = productId;
+                event.tierCount = priceTiers.size();
+                event.commit();
+            }
+        }
     }
 
     private void validateTiers() {
@@ -0,0 +1,66 @@
+package org.example.pojos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A customer's negotiated prices for some ranges of a product. Everything outside the ranges is priced
+ * by the product's base PriceConfig. Instances are immutable; replace the whole override to change it.
+ */
+public final class PriceOverride {
+
+    private final String customerId;
+    private final String productId;
+    private final List<PriceRangeOverride> ranges;
+
+    public PriceOverride(String customerId, String productId, List<PriceRangeOverride> ranges) {
+        this.customerId = requireId(customerId, "customerId");
+        this.productId = requireId(productId, "productId");
+        List<PriceRangeOverride> sorted = new ArrayList<>(Objects.requireNonNull(ranges, "ranges can't be null"));
+        sorted.sort(Comparator.comparingInt(PriceRangeOverride::getFrom));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getFrom() <= sorted.get(i - 1).getTo()) {
+                throw new IllegalArgumentException("Override ranges must not overlap.");
+            }
+        }
+        this.ranges = Collections.unmodifiableList(sorted);
+    }
+
+    private static String requireId(String id, String name) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException(name + " can't be null or empty");
+        }
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    /**
+     * @return The ranges, sorted by 'from'.
+     */
+    public List<PriceRangeOverride> getRanges() {
+        return ranges;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PriceOverride that = (PriceOverride) o;
+        return customerId.equals(that.customerId) && productId.equals(that.productId) && ranges.equals(that.ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, productId, ranges);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.pojos;
+
+import org.example.enums.PriceModel;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of {@link org.example.PriceCalculator#quote(PriceConfig, int)}: the total, computed up front, and a
+ * per-tier breakdown that is only built when first asked for.
+ * <p>
+ * The quote remembers the tiers its total came from, so the breakdown starts from that position instead of
+ * searching the ladder again. It keeps the immutable tier snapshot it was priced from, so later edits to the
+ * configuration don't change the breakdown.
+ */
+public final class PriceQuote {
+
+    private final String productId;
+    private final List<PriceTier> tiers;
+    private final int quantity;
+    private final BigDecimal total;
+    // The tiers that priced the quote: 0..lastTier for GRADUATED ladders (none for quantity 0), only lastTier otherwise.
+    private final int lastTier;
+    private volatile List<QuoteLine> breakdown;
+
+    /**
+     * @param tiers The immutable tiers the total was computed from, e.g. {@link PriceConfig#getTierSnapshot()}.
+     */
+    public PriceQuote(String productId, List<PriceTier> tiers, int quantity, BigDecimal total, int lastTier) {
+        this.productId = productId;
+        this.tiers = tiers;
+        this.quantity = quantity;
+        this.total = total;
+        this.lastTier = lastTier;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * @return One line per tier that contributed to the total, in tier order. Subtotals add up to the total.
+     */
+    public List<QuoteLine> getBreakdown() {
+        List<QuoteLine> lines = breakdown;
+        if (lines == null) {
+            lines = buildBreakdown();
+            breakdown = lines;
+        }
+        return lines;
+    }
+
+    private List<QuoteLine> buildBreakdown() {
+        if (lastTier < 0) {
+            return List.of();
+        }
+        PriceTier last = tiers.get(lastTier);
+        if (last.getPriceModel() != PriceModel.GRADUATED) {
+            BigDecimal subtotal = last.getPriceModel() == PriceModel.FLAT
+                    ? last.getPriceValue()
+                    : last.getPriceValue().multiply(BigDecimal.valueOf(quantity));
+            return List.of(new QuoteLine(last.getFrom(), last.getTo(), quantity, last.getPriceValue(),
+                    last.getPriceModel(), subtotal));
+        }
+
+        List<QuoteLine> lines = new ArrayList<>(lastTier + 1);
+        int remaining = quantity;
+        for (int i = 0; i <= lastTier; i++) {
+            PriceTier tier = tiers.get(i);
+            // The first tier always covers units 1..to, as in calculatePrice.
+            int width = i == 0 ? tier.getTo() : tier.getTo() - tier.getFrom() + 1;
+            int units = Math.min(remaining, width);
+            lines.add(new QuoteLine(tier.getFrom(), tier.getTo(), units, tier.getPriceValue(), tier.getPriceModel(),
+                    tier.getPriceValue().multiply(BigDecimal.valueOf(units))));
+            remaining -= units;
+        }
+        return Collections.unmodifiableList(lines);
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.pojos;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Replaces the base unit price for the quantities (or, for GRADUATED tiers, the units) from..to.
+ */
+public final class PriceRangeOverride {
+    private final int from;
+    private final int to;
+    private final BigDecimal priceValue;
+
+    public PriceRangeOverride(int from, int to, BigDecimal priceValue) {
+        if (from > to || from < 0) {
+            throw new IllegalArgumentException("Invalid override range: 'from' must be <= 'to' and non-negative.");
+        }
+        this.from = from;
+        this.to = to;
+        this.priceValue = Objects.requireNonNull(priceValue, "priceValue can't be null");
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public BigDecimal getPriceValue() {
+        return priceValue;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PriceRangeOverride that = (PriceRangeOverride) obj;
+        return from == that.from && to == that.to && Objects.equals(priceValue, that.priceValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, priceValue);
+    }
+}
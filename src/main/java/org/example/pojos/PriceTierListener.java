@@ -0,0 +1,27 @@
+package org.example.pojos;
+
+import java.util.List;
+
+/**
+ * Receives every tier change of a PriceConfig, so derived structures can follow edits without a rebuild.
+ * Indexes are positions in {@link PriceConfig#getPriceTiers()}; callbacks run on the editing thread after
+ * the change.
+ */
+public interface PriceTierListener {
+
+    void tierInserted(int index, PriceTier tier);
+
+    void tierRemoved(int index, PriceTier tier);
+
+    void tierReplaced(int index, PriceTier previous, PriceTier tier);
+
+    /**
+     * The tier at {@code index} was replaced by {@code lower} at the same index and {@code upper} right after it.
+     */
+    void tierSplit(int index, PriceTier previous, PriceTier lower, PriceTier upper);
+
+    /**
+     * The whole ladder was replaced.
+     */
+    void tiersReset(List<PriceTier> tiers);
+}
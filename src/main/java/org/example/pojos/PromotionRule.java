@@ -0,0 +1,178 @@
+package org.example.pojos;
+
+import org.example.enums.PromotionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A promotion applied on top of the tier price of a product, or of every product in a group.
+ * <p>
+ * A rule matches a quote when the quantity lies in minQuantity..maxQuantity and the quote time lies in
+ * validFrom (inclusive) .. validUntil (exclusive); a null bound is open. Product rules and group rules have
+ * separate factories, and a rule never targets both. Instances are immutable; the {@code with}/{@code during}
+ * methods return modified copies.
+ */
+public final class PromotionRule {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final String id;
+    private final PromotionType type;
+    private final String productId;
+    private final String productGroup;
+    private final int minQuantity;
+    private final int maxQuantity;
+    private final Instant validFrom;
+    private final Instant validUntil;
+    private final BigDecimal percent;
+    private final int buyQuantity;
+    private final int freeQuantity;
+
+    private PromotionRule(String id, PromotionType type, String productId, String productGroup, int minQuantity,
+                          int maxQuantity, Instant validFrom, Instant validUntil, BigDecimal percent,
+                          int buyQuantity, int freeQuantity) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("id can't be null or empty");
+        }
+        if ((productId == null) == (productGroup == null)) {
+            throw new IllegalArgumentException("A promotion rule targets either a product or a product group.");
+        }
+        if (minQuantity < 0 || minQuantity > maxQuantity) {
+            throw new IllegalArgumentException("Invalid promotion quantity range: 'min' must be <= 'max' and non-negative.");
+        }
+        if (validFrom != null && validUntil != null && !validFrom.isBefore(validUntil)) {
+            throw new IllegalArgumentException("Promotion window must end after it starts.");
+        }
+        this.id = id;
+        this.type = Objects.requireNonNull(type, "type can't be null");
+        this.productId = productId;
+        this.productGroup = productGroup;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.percent = percent;
+        this.buyQuantity = buyQuantity;
+        this.freeQuantity = freeQuantity;
+    }
+
+    /**
+     * Takes {@code percent} percent off the price of quantities of at least {@code minQuantity} of one product.
+     */
+    public static PromotionRule percentOff(String id, String productId, int minQuantity, BigDecimal percent) {
+        return percentOff(id, requireTarget(productId, "productId"), null, minQuantity, percent);
+    }
+
+    /**
+     * Like {@link #percentOff(String, String, int, BigDecimal)}, for every product of a group.
+     */
+    public static PromotionRule percentOffGroup(String id, String productGroup, int minQuantity, BigDecimal percent) {
+        return percentOff(id, null, requireTarget(productGroup, "productGroup"), minQuantity, percent);
+    }
+
+    /**
+     * Makes {@code freeQuantity} of every {@code buyQuantity + freeQuantity} units of one product free.
+     */
+    public static PromotionRule buyXGetY(String id, String productId, int buyQuantity, int freeQuantity) {
+        return buyXGetY(id, requireTarget(productId, "productId"), null, buyQuantity, freeQuantity);
+    }
+
+    /**
+     * Like {@link #buyXGetY(String, String, int, int)}, for every product of a group.
+     */
+    public static PromotionRule buyXGetYGroup(String id, String productGroup, int buyQuantity, int freeQuantity) {
+        return buyXGetY(id, null, requireTarget(productGroup, "productGroup"), buyQuantity, freeQuantity);
+    }
+
+    private static PromotionRule percentOff(String id, String productId, String productGroup, int minQuantity,
+                                            BigDecimal percent) {
+        Objects.requireNonNull(percent, "percent can't be null");
+        if (percent.signum() <= 0 || percent.compareTo(HUNDRED) > 0) {
+            throw new IllegalArgumentException("Percent off must be greater than 0 and at most 100.");
+        }
+        return new PromotionRule(id, PromotionType.PERCENT_OFF, productId, productGroup, minQuantity,
+                Integer.MAX_VALUE, null, null, percent, 0, 0);
+    }
+
+    private static PromotionRule buyXGetY(String id, String productId, String productGroup, int buyQuantity,
+                                          int freeQuantity) {
+        if (buyQuantity < 1 || freeQuantity < 1 || (long) buyQuantity + freeQuantity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Buy and free quantities must be positive.");
+        }
+        return new PromotionRule(id, PromotionType.BUY_X_GET_Y, productId, productGroup, buyQuantity + freeQuantity,
+                Integer.MAX_VALUE, null, null, null, buyQuantity, freeQuantity);
+    }
+
+    private static String requireTarget(String target, String name) {
+        if (target == null || target.isBlank()) {
+            throw new IllegalArgumentException(name + " can't be null or empty");
+        }
+        return target;
+    }
+
+    public PromotionRule withQuantityRange(int minQuantity, int maxQuantity) {
+        return new PromotionRule(id, type, productId, productGroup, minQuantity, maxQuantity, validFrom, validUntil,
+                percent, buyQuantity, freeQuantity);
+    }
+
+    public PromotionRule during(Instant validFrom, Instant validUntil) {
+        return new PromotionRule(id, type, productId, productGroup, minQuantity, maxQuantity, validFrom, validUntil,
+                percent, buyQuantity, freeQuantity);
+    }
+
+    public boolean isActiveAt(Instant time) {
+        return (validFrom == null || !time.isBefore(validFrom)) && (validUntil == null || time.isBefore(validUntil));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public PromotionType getType() {
+        return type;
+    }
+
+    /**
+     * @return The targeted product, or null for group rules.
+     */
+    public String getProductId() {
+        return productId;
+    }
+
+    /**
+     * @return The targeted product group, or null for product rules.
+     */
+    public String getProductGroup() {
+        return productGroup;
+    }
+
+    public int getMinQuantity() {
+        return minQuantity;
+    }
+
+    public int getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    public Instant getValidFrom() {
+        return validFrom;
+    }
+
+    public Instant getValidUntil() {
+        return validUntil;
+    }
+
+    public BigDecimal getPercent() {
+        return percent;
+    }
+
+    public int getBuyQuantity() {
+        return buyQuantity;
+    }
+
+    public int getFreeQuantity() {
+        return freeQuantity;
+    }
+}
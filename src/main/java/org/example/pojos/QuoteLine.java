@@ -0,0 +1,12 @@
+package org.example.pojos;
+
+import org.example.enums.PriceModel;
+
+import java.math.BigDecimal;
+
+/**
+ * One tier's share of a quote. For FLAT tiers the subtotal is the tier price, whatever the number of units.
+ */
+public record QuoteLine(int tierFrom, int tierTo, int units, BigDecimal priceValue, PriceModel priceModel,
+                        BigDecimal subtotal) {
+}
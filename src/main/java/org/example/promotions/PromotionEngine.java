@@ -0,0 +1,115 @@
+package org.example.promotions;
+
+import org.example.PriceCalculator;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PromotionRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Applies promotion rules to the price computed by {@link PriceCalculator#calculatePrice(PriceConfig, int)}.
+ * <p>
+ * Rules are compiled into an index by product, product group and quantity range, so a quote only looks at
+ * the rules that can match it; date windows are checked on those candidates alone. Every matching rule
+ * applies, in the order the rules were given, each to the price left by the previous one. A discounted
+ * price is rounded half-up to cents, or to the scale of the tier price if that is finer.
+ * <p>
+ * The rule set can be replaced at any time; quotes in flight finish on the rule set they started with.
+ */
+public class PromotionEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PriceCalculator priceCalculator;
+    private final Function<String, Collection<String>> productGroups;
+    private volatile PromotionIndex index = PromotionIndex.EMPTY;
+
+    /**
+     * @param priceCalculator Computes the tier price the promotions apply to.
+     * @param productGroups   Returns the groups of a product; an empty collection if it has none.
+     */
+    public PromotionEngine(PriceCalculator priceCalculator, Function<String, Collection<String>> productGroups) {
+        this.priceCalculator = Objects.requireNonNull(priceCalculator, "priceCalculator can't be null");
+        this.productGroups = Objects.requireNonNull(productGroups, "productGroups can't be null");
+    }
+
+    /**
+     * Compiles and activates a new rule set, replacing the current one.
+     *
+     * @throws IllegalArgumentException If two rules share an id.
+     */
+    public void setRules(Collection<PromotionRule> rules) {
+        Objects.requireNonNull(rules, "rules can't be null");
+        index = PromotionIndex.build(rules);
+    }
+
+    public int getRuleCount() {
+        return index.size();
+    }
+
+    /**
+     * Prices a quantity with {@link PriceCalculator#calculatePrice(PriceConfig, int)} and applies the
+     * promotions active at the given time.
+     *
+     * @throws IllegalArgumentException If calculatePrice rejects the quote.
+     */
+    public PromotionResult quote(PriceConfig priceConfig, int quantity, Instant time) {
+        BigDecimal basePrice = priceCalculator.calculatePrice(priceConfig, quantity);
+        return apply(priceConfig.getProductId(), quantity, basePrice, time);
+    }
+
+    /**
+     * Applies the promotions active at the given time to an already computed tier price.
+     */
+    public PromotionResult apply(String productId, int quantity, BigDecimal basePrice, Instant time) {
+        Objects.requireNonNull(basePrice, "basePrice can't be null");
+        Objects.requireNonNull(time, "time can't be null");
+        PromotionIndex rules = index;
+        int[] candidates = rules.candidates(productId, productGroups.apply(productId), quantity);
+        if (candidates.length == 0) {
+            return new PromotionResult(basePrice, basePrice, List.of());
+        }
+
+        int scale = Math.max(basePrice.scale(), 2);
+        BigDecimal price = basePrice;
+        List<String> applied = new ArrayList<>();
+        for (int number : candidates) {
+            PromotionRule rule = rules.getRule(number);
+            if (!rule.isActiveAt(time)) {
+                continue;
+            }
+            BigDecimal discounted = discount(rule, price, quantity, scale);
+            if (discounted != null) {
+                price = discounted;
+                applied.add(rule.getId());
+            }
+        }
+        if (applied.isEmpty()) {
+            return new PromotionResult(basePrice, basePrice, List.of());
+        }
+        return new PromotionResult(basePrice, price.setScale(scale, RoundingMode.HALF_UP), applied);
+    }
+
+    // The price after the rule, or null if the rule gives nothing at this quantity.
+    private static BigDecimal discount(PromotionRule rule, BigDecimal price, int quantity, int scale) {
+        return switch (rule.getType()) {
+            case PERCENT_OFF -> price.subtract(price.multiply(rule.getPercent()).divide(HUNDRED));
+            case BUY_X_GET_Y -> {
+                long free = (long) (quantity / (rule.getBuyQuantity() + rule.getFreeQuantity())) * rule.getFreeQuantity();
+                if (free == 0) {
+                    yield null;
+                }
+                // Free units are worth the average unit price, which for graduated tiers isn't the last tier's.
+                yield price.multiply(BigDecimal.valueOf(quantity - free))
+                        .divide(BigDecimal.valueOf(quantity), scale, RoundingMode.HALF_UP);
+            }
+        };
+    }
+}
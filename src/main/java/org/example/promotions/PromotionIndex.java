@@ -0,0 +1,107 @@
+package org.example.promotions;
+
+import org.example.pojos.PromotionRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index of a rule set by targeted product or group, then by quantity.
+ * Rule numbers are positions in the list the index was built from, which is also the order rules apply in.
+ */
+final class PromotionIndex {
+
+    static final PromotionIndex EMPTY = build(List.of());
+
+    private final PromotionRule[] rules;
+    private final Map<String, QuantityIntervalIndex> byProduct;
+    private final Map<String, QuantityIntervalIndex> byGroup;
+
+    private PromotionIndex(PromotionRule[] rules, Map<String, QuantityIntervalIndex> byProduct,
+                           Map<String, QuantityIntervalIndex> byGroup) {
+        this.rules = rules;
+        this.byProduct = byProduct;
+        this.byGroup = byGroup;
+    }
+
+    /**
+     * @throws IllegalArgumentException If two rules share an id.
+     */
+    static PromotionIndex build(Collection<PromotionRule> ruleSet) {
+        PromotionRule[] rules = ruleSet.toArray(new PromotionRule[0]);
+        Set<String> ids = new HashSet<>();
+        Map<String, List<Integer>> productRules = new HashMap<>();
+        Map<String, List<Integer>> groupRules = new HashMap<>();
+        for (int i = 0; i < rules.length; i++) {
+            PromotionRule rule = rules[i];
+            if (!ids.add(rule.getId())) {
+                throw new IllegalArgumentException("Duplicate promotion rule id: " + rule.getId());
+            }
+            if (rule.getProductId() != null) {
+                productRules.computeIfAbsent(rule.getProductId(), key -> new ArrayList<>()).add(i);
+            } else {
+                groupRules.computeIfAbsent(rule.getProductGroup(), key -> new ArrayList<>()).add(i);
+            }
+        }
+        return new PromotionIndex(rules, indexByQuantity(rules, productRules), indexByQuantity(rules, groupRules));
+    }
+
+    private static Map<String, QuantityIntervalIndex> indexByQuantity(PromotionRule[] rules,
+                                                                      Map<String, List<Integer>> rulesByKey) {
+        Map<String, QuantityIntervalIndex> indexes = new HashMap<>();
+        rulesByKey.forEach((key, numbers) -> {
+            int[] selected = new int[numbers.size()];
+            int[] minimums = new int[selected.length];
+            int[] maximums = new int[selected.length];
+            for (int i = 0; i < selected.length; i++) {
+                selected[i] = numbers.get(i);
+                minimums[i] = rules[selected[i]].getMinQuantity();
+                maximums[i] = rules[selected[i]].getMaxQuantity();
+            }
+            indexes.put(key, QuantityIntervalIndex.build(selected, minimums, maximums));
+        });
+        return indexes;
+    }
+
+    /**
+     * @return The ascending numbers of the rules whose target and quantity range match, ignoring date windows.
+     */
+    int[] candidates(String productId, Collection<String> productGroups, int quantity) {
+        QuantityIntervalIndex productIndex = byProduct.get(productId);
+        int[] candidates = productIndex == null ? new int[0] : productIndex.rulesFor(quantity);
+        boolean copied = false;
+        for (String group : productGroups) {
+            QuantityIntervalIndex groupIndex = byGroup.get(group);
+            if (groupIndex == null) {
+                continue;
+            }
+            int[] groupCandidates = groupIndex.rulesFor(quantity);
+            if (groupCandidates.length == 0) {
+                continue;
+            }
+            int[] merged = Arrays.copyOf(candidates, candidates.length + groupCandidates.length);
+            System.arraycopy(groupCandidates, 0, merged, candidates.length, groupCandidates.length);
+            candidates = merged;
+            copied = true;
+        }
+        if (copied) {
+            // Restore rule order across groups; a group listed twice would also repeat its rules.
+            candidates = Arrays.stream(candidates).sorted().distinct().toArray();
+        }
+        return candidates;
+    }
+
+    PromotionRule getRule(int number) {
+        return rules[number];
+    }
+
+    int size() {
+        return rules.length;
+    }
+}
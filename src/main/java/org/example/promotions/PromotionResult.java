@@ -0,0 +1,19 @@
+package org.example.promotions;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The tier price of a quote, the price after promotions, and the ids of the rules that changed it, in the
+ * order they were applied.
+ */
+public record PromotionResult(BigDecimal basePrice, BigDecimal finalPrice, List<String> appliedRuleIds) {
+
+    public PromotionResult {
+        appliedRuleIds = List.copyOf(appliedRuleIds);
+    }
+
+    public boolean isDiscounted() {
+        return !appliedRuleIds.isEmpty();
+    }
+}
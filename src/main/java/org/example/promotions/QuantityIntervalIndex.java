@@ -0,0 +1,122 @@
+package org.example.promotions;
+
+import java.util.Arrays;
+
+/**
+ * Maps a quantity to the rules whose quantity range contains it.
+ * <p>
+ * The rule ranges cut the quantity axis into segments in which the set of matching rules doesn't change.
+ * A segment tree over those segments stores each rule in the O(log n) nodes that exactly cover its range,
+ * so the index stays near-linear in the number of rules even when most ranges overlap (e.g. many
+ * "above N" rules). A lookup is one binary search over the segment starts plus one leaf-to-root walk that
+ * collects the rules of the nodes it passes.
+ */
+final class QuantityIntervalIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[] segmentStarts;
+    // Node i of the tree holds nodeRules[nodeOffsets[i] .. nodeOffsets[i + 1]); leaves are nodes n .. 2n - 1.
+    private final int[] nodeOffsets;
+    private final int[] nodeRules;
+
+    private QuantityIntervalIndex(int[] segmentStarts, int[] nodeOffsets, int[] nodeRules) {
+        this.segmentStarts = segmentStarts;
+        this.nodeOffsets = nodeOffsets;
+        this.nodeRules = nodeRules;
+    }
+
+    /**
+     * @param rules     Rule numbers.
+     * @param minimums  Inclusive lower quantity bound of each rule.
+     * @param maximums  Inclusive upper quantity bound of each rule.
+     */
+    static QuantityIntervalIndex build(int[] rules, int[] minimums, int[] maximums) {
+        // Every bound where the set of matching rules can change starts a segment.
+        int[] bounds = new int[rules.length * 2];
+        int boundCount = 0;
+        for (int i = 0; i < rules.length; i++) {
+            bounds[boundCount++] = minimums[i];
+            if (maximums[i] < Integer.MAX_VALUE) {
+                bounds[boundCount++] = maximums[i] + 1;
+            }
+        }
+        int[] starts = Arrays.stream(bounds, 0, boundCount).sorted().distinct().toArray();
+        int segments = starts.length;
+
+        // Two passes over the same cover: one to size each node's slice, one to fill it.
+        int[] first = new int[rules.length];
+        int[] end = new int[rules.length];
+        int[] offsets = new int[2 * segments + 1];
+        for (int i = 0; i < rules.length; i++) {
+            first[i] = Arrays.binarySearch(starts, minimums[i]);
+            end[i] = maximums[i] < Integer.MAX_VALUE ? Arrays.binarySearch(starts, maximums[i] + 1) : segments;
+            for (int low = first[i] + segments, high = end[i] + segments; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    offsets[low++ + 1]++;
+                }
+                if ((high & 1) == 1) {
+                    offsets[--high + 1]++;
+                }
+            }
+        }
+        for (int node = 0; node < 2 * segments; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] filled = Arrays.copyOf(offsets, offsets.length - 1);
+        int[] nodeRules = new int[offsets[2 * segments]];
+        for (int i = 0; i < rules.length; i++) {
+            for (int low = first[i] + segments, high = end[i] + segments; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    nodeRules[filled[low++]++] = rules[i];
+                }
+                if ((high & 1) == 1) {
+                    nodeRules[filled[--high]++] = rules[i];
+                }
+            }
+        }
+        return new QuantityIntervalIndex(starts, offsets, nodeRules);
+    }
+
+    /**
+     * @return The ascending numbers of the rules whose range contains the quantity.
+     */
+    int[] rulesFor(int quantity) {
+        int low = 0;
+        int high = segmentStarts.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segmentStarts[mid] <= quantity) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found < 0) {
+            return NONE;
+        }
+        // A rule's cover never has two nodes on one leaf-to-root path, so the rules collected are distinct.
+        int count = 0;
+        for (int node = found + segmentStarts.length; node > 0; node >>= 1) {
+            count += nodeOffsets[node + 1] - nodeOffsets[node];
+        }
+        if (count == 0) {
+            return NONE;
+        }
+        int[] matches = new int[count];
+        int filled = 0;
+        for (int node = found + segmentStarts.length; node > 0; node >>= 1) {
+            int length = nodeOffsets[node + 1] - nodeOffsets[node];
+            System.arraycopy(nodeRules, nodeOffsets[node], matches, filled, length);
+            filled += length;
+        }
+        Arrays.sort(matches);
+        return matches;
+    }
+
+    int getSegmentCount() {
+        return segmentStarts.length;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.simulation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable order-quantity histogram: how many orders were placed for each quantity, sorted by quantity.
+ */
+public final class DemandHistogram {
+
+    private final int[] quantities;
+    private final long[] orderCounts;
+
+    private DemandHistogram(int[] quantities, long[] orderCounts) {
+        this.quantities = quantities;
+        this.orderCounts = orderCounts;
+    }
+
+    /**
+     * @param orderCounts Number of orders per quantity. Quantities with zero orders are dropped.
+     * @throws IllegalArgumentException If a quantity or order count is negative.
+     */
+    public static DemandHistogram of(Map<Integer, Long> orderCounts) {
+        TreeMap<Integer, Long> sorted = new TreeMap<>();
+        orderCounts.forEach((quantity, count) -> {
+            if (quantity < 0) {
+                throw new IllegalArgumentException("Quantity cannot be negative.");
+            }
+            if (count < 0) {
+                throw new IllegalArgumentException("Order count cannot be negative.");
+            }
+            if (count > 0) {
+                sorted.put(quantity, count);
+            }
+        });
+        int[] quantities = new int[sorted.size()];
+        long[] counts = new long[sorted.size()];
+        int bucket = 0;
+        for (Map.Entry<Integer, Long> entry : sorted.entrySet()) {
+            quantities[bucket] = entry.getKey();
+            counts[bucket] = entry.getValue();
+            bucket++;
+        }
+        return new DemandHistogram(quantities, counts);
+    }
+
+    /**
+     * Builds a histogram from individual order quantities.
+     */
+    public static DemandHistogram ofOrders(int... orderQuantities) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (int quantity : orderQuantities) {
+            counts.merge(quantity, 1L, Long::sum);
+        }
+        return of(counts);
+    }
+
+    public int getBucketCount() {
+        return quantities.length;
+    }
+
+    public int getQuantity(int bucket) {
+        return quantities[bucket];
+    }
+
+    public long getOrderCount(int bucket) {
+        return orderCounts[bucket];
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.simulation;
+
+import java.math.BigDecimal;
+
+/**
+ * Revenue of one PriceConfig over a demand histogram, in total and per tier.
+ * <p>
+ * Volume is the number of units billed in a tier: for GRADUATED ladders an order contributes to every tier
+ * it passes through, otherwise all of its units count towards the one tier that prices it. Orders the
+ * ladder rejects (quantities outside its range) are counted but bring no revenue.
+ */
+public final class RevenueReport {
+
+    private final String productId;
+    private final BigDecimal totalRevenue;
+    private final BigDecimal[] tierRevenue;
+    private final long[] tierVolume;
+    private final long acceptedOrders;
+    private final long rejectedOrders;
+
+    RevenueReport(String productId, BigDecimal totalRevenue, BigDecimal[] tierRevenue, long[] tierVolume,
+                  long acceptedOrders, long rejectedOrders) {
+        this.productId = productId;
+        this.totalRevenue = totalRevenue;
+        this.tierRevenue = tierRevenue;
+        this.tierVolume = tierVolume;
+        this.acceptedOrders = acceptedOrders;
+        this.rejectedOrders = rejectedOrders;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public int getTierCount() {
+        return tierRevenue.length;
+    }
+
+    public BigDecimal getTierRevenue(int tierIndex) {
+        return tierRevenue[tierIndex];
+    }
+
+    public long getTierVolume(int tierIndex) {
+        return tierVolume[tierIndex];
+    }
+
+    public long getAcceptedOrders() {
+        return acceptedOrders;
+    }
+
+    public long getRejectedOrders() {
+        return rejectedOrders;
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.simulation;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Replays a demand histogram against candidate price configurations.
+ * <p>
+ * Instead of calling calculatePrice once per order, the simulator walks the sorted histogram buckets and the
+ * tier boundaries together, so one configuration costs O(buckets + tiers) whatever the number of orders.
+ * Revenue equals the sum of calculatePrice over all accepted orders. Unit and order totals use exact long
+ * arithmetic and throw ArithmeticException on overflow.
+ */
+public class RevenueSimulator {
+
+    /**
+     * @throws IllegalArgumentException If the priceConfig is null or has no tiers.
+     */
+    public RevenueReport simulate(PriceConfig priceConfig, DemandHistogram histogram) {
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration cannot be null.");
+        }
+        Objects.requireNonNull(histogram, "histogram can't be null");
+        List<PriceTier> tiers = priceConfig.getPriceTiers();
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("priceTiers cannot be null or empty.");
+        }
+
+        int tierCount = tiers.size();
+        int[] upperBounds = new int[tierCount];
+        for (int i = 0; i < tierCount; i++) {
+            upperBounds[i] = tiers.get(i).getTo();
+        }
+        boolean graduated = tiers.get(0).getPriceModel() == PriceModel.GRADUATED;
+        int min = tiers.get(0).getFrom();
+        int max = upperBounds[tierCount - 1];
+
+        // Per tier: orders whose quantity falls in it, and the units those orders bill in it.
+        long[] orders = new long[tierCount];
+        long[] units = new long[tierCount];
+        long accepted = 0;
+        long rejected = 0;
+        int tier = 0;
+        for (int bucket = 0; bucket < histogram.getBucketCount(); bucket++) {
+            int quantity = histogram.getQuantity(bucket);
+            long count = histogram.getOrderCount(bucket);
+            if (quantity < min || quantity > max) {
+                rejected = Math.addExact(rejected, count);
+                continue;
+            }
+            while (upperBounds[tier] < quantity) {
+                tier++;
+            }
+            accepted = Math.addExact(accepted, count);
+            orders[tier] = Math.addExact(orders[tier], count);
+            // The first tier always bills units 1..quantity, like calculatePrice.
+            long billed = graduated && tier > 0 ? quantity - upperBounds[tier - 1] : quantity;
+            units[tier] = Math.addExact(units[tier], Math.multiplyExact(count, billed));
+        }
+
+        if (graduated) {
+            // Orders beyond a tier bill all of its units.
+            long passing = 0;
+            for (int i = tierCount - 1; i >= 0; i--) {
+                long width = i == 0 ? upperBounds[0] : (long) upperBounds[i] - upperBounds[i - 1];
+                long passingUnits = Math.multiplyExact(passing, width);
+                passing = Math.addExact(passing, orders[i]);
+                units[i] = Math.addExact(units[i], passingUnits);
+            }
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal[] revenue = new BigDecimal[tierCount];
+        for (int i = 0; i < tierCount; i++) {
+            PriceTier priceTier = tiers.get(i);
+            long billedQuantity = priceTier.getPriceModel() == PriceModel.FLAT ? orders[i] : units[i];
+            revenue[i] = priceTier.getPriceValue().multiply(BigDecimal.valueOf(billedQuantity));
+            total = total.add(revenue[i]);
+        }
+        return new RevenueReport(priceConfig.getProductId(), total, revenue, units, accepted, rejected);
+    }
+
+    /**
+     * Simulates every candidate against the same histogram, spreading the candidates over the common
+     * fork-join pool.
+     *
+     * @return One report per candidate, in the order of the candidates.
+     */
+    public List<RevenueReport> simulateAll(List<PriceConfig> candidates, DemandHistogram histogram) {
+        Objects.requireNonNull(histogram, "histogram can't be null");
+        return candidates.parallelStream()
+                .map(priceConfig -> simulate(priceConfig, histogram))
+                .toList();
+    }
+}
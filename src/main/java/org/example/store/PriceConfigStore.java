@@ -0,0 +1,460 @@
+package org.example.store;
+
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Embedded, crash-safe store of PriceConfigs in a local directory.
+ * <p>
+ * Every mutation is validated against an in-memory copy, appended to a checksummed write-ahead log and
+ * acknowledged once the log is on disk; concurrent mutations share fsyncs (group commit). Readers only see
+ * mutations that are on disk, and a failed log write leaves the store read-only. After every
+ * {@code snapshotInterval} mutations the whole catalog is written to a snapshot in the background and older
+ * files are removed, so reopening only loads the latest snapshot and replays at most about one interval of
+ * log records, whatever the size of the catalog. A record torn by a crash is discarded on recovery; it was never
+ * acknowledged.
+ * <p>
+ * Files are named by generation: {@code snapshot-N.dat} holds the catalog as of the start of {@code wal-N.log}.
+ */
+public final class PriceConfigStore implements Closeable {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10_000;
+
+    private static final Pattern FILE_NAME = Pattern.compile("(snapshot|wal)-(\\d{20})\\.(dat|log)");
+
+    private final Path directory;
+    private final int snapshotInterval;
+    private final Map<String, PriceConfig> configs; // What readers see: only mutations that are on disk.
+    private final Map<String, PriceConfig> accepted; // Also the mutations still queued; validates the next one.
+    private final WriteAheadLog log;
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "price-config-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastSequence;
+    private long acceptedSequence;
+    private long generation;
+    private int recordsSinceSnapshot;
+    private boolean snapshotRequested;
+    private volatile RuntimeException snapshotFailure;
+    private CompletableFuture<Void> lastSnapshot = CompletableFuture.completedFuture(null);
+
+    private PriceConfigStore(Path directory, int snapshotInterval, Map<String, PriceConfig> configs,
+                             long lastSequence, long generation, int recordsSinceSnapshot) throws IOException {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.configs = configs;
+        this.accepted = new HashMap<>(configs);
+        this.lastSequence = lastSequence;
+        this.acceptedSequence = lastSequence;
+        this.generation = generation;
+        this.recordsSinceSnapshot = recordsSinceSnapshot;
+        this.log = new WriteAheadLog(walFile(generation));
+    }
+
+    public static PriceConfigStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed, and recovers its contents.
+     *
+     * @param snapshotInterval Number of mutations between two snapshots.
+     * @throws IOException If a log other than the newest is damaged or records are missing between the logs.
+     */
+    public static PriceConfigStore open(Path directory, int snapshotInterval) throws IOException {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("snapshotInterval must be positive");
+        }
+        Files.createDirectories(directory);
+        TreeSet<Long> snapshots = new TreeSet<>();
+        TreeSet<Long> logs = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    (matcher.group(1).equals("snapshot") ? snapshots : logs).add(Long.parseLong(matcher.group(2)));
+                }
+            });
+        }
+
+        // The newest snapshot that is intact; a crash can leave a newer one half written only under its temp name.
+        Map<String, PriceConfig> configs = new HashMap<>();
+        long snapshotGeneration = 0;
+        long lastSequence = 0;
+        for (Long candidate : snapshots.descendingSet()) {
+            Map<String, PriceConfig> loaded = new HashMap<>();
+            long sequence = readSnapshot(snapshotFile(directory, candidate), loaded);
+            if (sequence >= 0) {
+                configs = loaded;
+                snapshotGeneration = candidate;
+                lastSequence = sequence;
+                break;
+            }
+        }
+
+        // Replay every log from the snapshot's generation on; records already in the snapshot are skipped.
+        long generation = snapshotGeneration;
+        int replayed = 0;
+        SortedSet<Long> replay = logs.tailSet(snapshotGeneration);
+        for (Long logGeneration : replay) {
+            Path file = walFile(directory, logGeneration);
+            WriteAheadLog.Frames frames = WriteAheadLog.readFrames(file);
+            for (byte[] payload : frames.payloads()) {
+                StoreRecord record = StoreRecord.decode(payload);
+                if (record.sequence() > lastSequence) {
+                    if (record.sequence() != lastSequence + 1) {
+                        throw new IOException("Store record " + (lastSequence + 1) + " is missing; "
+                                + file + " continues with " + record.sequence());
+                    }
+                    apply(configs, record);
+                    lastSequence = record.sequence();
+                    replayed++;
+                }
+            }
+            if (frames.validLength() < Files.size(file)) {
+                // Only the newest log can end in a torn write; damage elsewhere would drop acknowledged records.
+                if (logGeneration != replay.last().longValue()) {
+                    throw new IOException("Damaged write-ahead log at offset " + frames.validLength() + ": " + file);
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(frames.validLength());
+                    channel.force(true);
+                }
+            }
+            generation = logGeneration;
+        }
+        deleteOlderThan(directory, snapshotGeneration);
+        return new PriceConfigStore(directory, snapshotInterval, configs, lastSequence, generation, replayed);
+    }
+
+    /**
+     * @return A copy of the product's configuration, or null if the store has none.
+     */
+    public synchronized PriceConfig get(String productId) {
+        PriceConfig priceConfig = configs.get(productId);
+        return priceConfig == null ? null : copy(priceConfig.getProductId(), priceConfig.getPriceTiers());
+    }
+
+    public synchronized Set<String> getProductIds() {
+        return Collections.unmodifiableSet(new TreeSet<>(configs.keySet()));
+    }
+
+    public synchronized int size() {
+        return configs.size();
+    }
+
+    /**
+     * Stores the configuration, replacing any previous configuration of its product.
+     */
+    public void put(PriceConfig priceConfig) {
+        if (priceConfig == null) {
+            throw new IllegalArgumentException("Price configuration cannot be null.");
+        }
+        commit(StoreRecord.Operation.PUT, priceConfig.getProductId(), priceConfig.getPriceTiers());
+    }
+
+    /**
+     * @throws IllegalArgumentException If the product is unknown or the tier doesn't fit its ladder.
+     */
+    public void addPriceTier(String productId, PriceTier priceTier) {
+        commit(StoreRecord.Operation.ADD_TIER, productId, List.of(priceTier));
+    }
+
+    /**
+     * @throws IllegalArgumentException If the product is unknown or doesn't have the tier.
+     */
+    public void removePriceTier(String productId, PriceTier priceTier) {
+        commit(StoreRecord.Operation.REMOVE_TIER, productId, List.of(priceTier));
+    }
+
+    public void delete(String productId) {
+        commit(StoreRecord.Operation.DELETE, productId, List.of());
+    }
+
+    /**
+     * Writes a snapshot now instead of waiting for the snapshot interval, and removes the older files.
+     */
+    public void snapshot() {
+        await(requestSnapshot());
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    long getCommitCount() {
+        return log.getCommitCount();
+    }
+
+    /**
+     * @return The failure of the latest snapshot, or null if it succeeded. A failed snapshot is retried on the
+     * next commit.
+     */
+    RuntimeException getSnapshotFailure() {
+        return snapshotFailure;
+    }
+
+    /**
+     * Waits until the latest requested snapshot is written or has failed.
+     */
+    void awaitSnapshot() {
+        CompletableFuture<Void> snapshot;
+        synchronized (this) {
+            snapshot = lastSnapshot;
+        }
+        snapshot.exceptionally(failure -> null).join();
+    }
+
+    /**
+     * Closes the log, then waits for the snapshot being written, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Validates the mutation and queues it in log order, then waits until it is on disk and visible to readers.
+    private void commit(StoreRecord.Operation operation, String productId, List<PriceTier> tiers) {
+        CompletableFuture<Void> visible;
+        synchronized (this) {
+            StoreRecord record = new StoreRecord(acceptedSequence + 1, operation, productId, copyTiers(tiers));
+            // Encode and validate before anything changes, so a rejected record consumes no sequence number.
+            byte[] payload = record.encode();
+            apply(accepted, record);
+            acceptedSequence = record.sequence();
+            // The log completes appends in order on its writer thread, so readers see them in sequence order.
+            // A failed append is never applied, and the log refuses every append after it.
+            visible = log.append(payload).thenRun(() -> {
+                synchronized (this) {
+                    apply(configs, record);
+                    lastSequence = record.sequence();
+                }
+            });
+            if (++recordsSinceSnapshot >= snapshotInterval && !snapshotRequested) {
+                snapshotRequested = true;
+                requestSnapshot();
+            }
+        }
+        await(visible);
+    }
+
+    private static void apply(Map<String, PriceConfig> configs, StoreRecord record) {
+        String productId = record.productId();
+        if (record.operation() == StoreRecord.Operation.PUT) {
+            configs.put(productId, copy(productId, record.tiers()));
+            return;
+        }
+        PriceConfig current = configs.get(productId);
+        if (current == null) {
+            throw new IllegalArgumentException("Price configuration not found for product: " + productId);
+        }
+        switch (record.operation()) {
+            case DELETE -> configs.remove(productId);
+            // Edit a copy, so a rejected tier leaves the stored configuration untouched.
+            case ADD_TIER -> {
+                PriceConfig edited = copy(productId, current.getPriceTiers());
+                edited.addPriceTier(record.tiers().get(0));
+                configs.put(productId, edited);
+            }
+            case REMOVE_TIER -> {
+                PriceConfig edited = copy(productId, current.getPriceTiers());
+                edited.removePriceTier(record.tiers().get(0));
+                configs.put(productId, edited);
+            }
+            default -> throw new IllegalStateException("Unexpected operation: " + record.operation());
+        }
+    }
+
+    // Takes a snapshot: the log switches to a new file in log order, then the catalog as of that switch is
+    // written off the writer thread, so commits keep flowing however large the catalog is.
+    private CompletableFuture<Void> requestSnapshot() {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        CompletableFuture<Void> snapshot = log.submit(() -> rotateForSnapshot(written))
+                .thenCompose(ignored -> written)
+                .whenComplete((ignored, failure) -> {
+                    // After a failure the count stays at or above the interval, so the next commit retries.
+                    synchronized (this) {
+                        snapshotFailure = failure == null ? null : unwrap(failure);
+                        snapshotRequested = false;
+                    }
+                });
+        synchronized (this) {
+            lastSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    // Runs on the log's writer thread. Every record appended before it is already on disk and applied, so
+    // 'configs' holds exactly the records of the older logs; stored configurations are replaced, never edited,
+    // so a shallow copy is a consistent catalog.
+    private void rotateForSnapshot(CompletableFuture<Void> written) {
+        Map<String, PriceConfig> catalog;
+        long sequence;
+        long next;
+        int covered;
+        synchronized (this) {
+            catalog = new HashMap<>(configs);
+            sequence = lastSequence;
+            next = generation + 1;
+            // Records accepted but not yet on disk are queued behind this task, so they land in the new log.
+            covered = recordsSinceSnapshot - (int) (acceptedSequence - lastSequence);
+        }
+        try {
+            log.rotate(walFile(next));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        // The log now continues in the new file, whether or not the snapshot below gets written.
+        synchronized (this) {
+            generation = next;
+        }
+        snapshotWriter.execute(() -> {
+            try {
+                writeSnapshot(catalog, sequence, next);
+                synchronized (this) {
+                    recordsSinceSnapshot -= covered;
+                }
+                deleteOlderThan(directory, next);
+                written.complete(null);
+            } catch (IOException exception) {
+                written.completeExceptionally(new UncheckedIOException(exception));
+            } catch (RuntimeException exception) {
+                written.completeExceptionally(exception);
+            }
+        });
+    }
+
+    private void writeSnapshot(Map<String, PriceConfig> catalog, long sequence, long generation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sequence);
+            out.writeInt(catalog.size());
+            for (Map.Entry<String, PriceConfig> entry : catalog.entrySet()) {
+                out.writeUTF(entry.getKey());
+                StoreRecord.writeTiers(out, entry.getValue().getPriceTiers());
+            }
+        }
+        Path target = snapshotFile(directory, generation);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(WriteAheadLog.frame(bytes.toByteArray())));
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        // The rename must be durable before the files it replaces are deleted.
+        WriteAheadLog.syncDirectory(directory);
+    }
+
+    // The sequence number the snapshot is complete up to, or -1 if the file is damaged.
+    private static long readSnapshot(Path file, Map<String, PriceConfig> configs) throws IOException {
+        WriteAheadLog.Frames frames = WriteAheadLog.readFrames(file);
+        if (frames.payloads().size() != 1 || frames.validLength() != Files.size(file)) {
+            return -1;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frames.payloads().get(0)));
+        long sequence = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String productId = in.readUTF();
+            configs.put(productId, new PriceConfig(productId, StoreRecord.readTiers(in)));
+        }
+        return sequence;
+    }
+
+    private static void deleteOlderThan(Path directory, long generation) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher matcher = FILE_NAME.matcher(name);
+                // Leftover temp files are snapshots that a crash interrupted before they were complete.
+                if (name.endsWith(".tmp") || matcher.matches() && Long.parseLong(matcher.group(2)) < generation) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static PriceConfig copy(String productId, List<PriceTier> tiers) {
+        return new PriceConfig(productId, copyTiers(tiers));
+    }
+
+    // PriceTier is mutable, so nothing handed in or out may share instances with the stored state.
+    private static List<PriceTier> copyTiers(List<PriceTier> tiers) {
+        List<PriceTier> copies = new ArrayList<>(tiers.size());
+        for (PriceTier tier : tiers) {
+            copies.add(new PriceTier(tier.getFrom(), tier.getTo(), tier.getPriceValue(), tier.getPriceModel()));
+        }
+        return copies;
+    }
+
+    private Path walFile(long generation) {
+        return walFile(directory, generation);
+    }
+
+    private static Path walFile(Path directory, long generation) {
+        return directory.resolve(String.format("wal-%020d.log", generation));
+    }
+
+    private static Path snapshotFile(Path directory, long generation) {
+        return directory.resolve(String.format("snapshot-%020d.dat", generation));
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    private static void await(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.store;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceTier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One logged mutation of the store. Tiers are the full ladder for PUT, and the single tier added or removed
+ * for ADD_TIER and REMOVE_TIER.
+ */
+record StoreRecord(long sequence, Operation operation, String productId, List<PriceTier> tiers) {
+
+    enum Operation {
+        PUT,
+        ADD_TIER,
+        REMOVE_TIER,
+        DELETE
+    }
+
+    /**
+     * @throws IllegalArgumentException If the product id or a price doesn't fit the record format.
+     */
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sequence);
+            out.writeByte(operation.ordinal());
+            out.writeUTF(productId);
+            writeTiers(out, tiers);
+        } catch (UTFDataFormatException exception) {
+            throw new IllegalArgumentException("productId is too long to store.", exception);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    static StoreRecord decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long sequence = in.readLong();
+        int operation = in.readUnsignedByte();
+        if (operation >= Operation.values().length) {
+            throw new IOException("Unknown store operation: " + operation);
+        }
+        return new StoreRecord(sequence, Operation.values()[operation], in.readUTF(), readTiers(in));
+    }
+
+    static void writeTiers(DataOutput out, List<PriceTier> tiers) throws IOException {
+        out.writeInt(tiers.size());
+        for (PriceTier tier : tiers) {
+            out.writeInt(tier.getFrom());
+            out.writeInt(tier.getTo());
+            byte[] unscaled = tier.getPriceValue().unscaledValue().toByteArray();
+            if (unscaled.length > 0xFFFF) {
+                throw new IllegalArgumentException("Price value is too large to store.");
+            }
+            out.writeInt(tier.getPriceValue().scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+            out.writeUTF(tier.getPriceModel().name());
+        }
+    }
+
+    static List<PriceTier> readTiers(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Negative tier count: " + count);
+        }
+        List<PriceTier> tiers = new ArrayList<>(Math.min(count, 1_024));
+        for (int i = 0; i < count; i++) {
+            int from = in.readInt();
+            int to = in.readInt();
+            int scale = in.readInt();
+            byte[] unscaled = new byte[in.readUnsignedShort()];
+            in.readFully(unscaled);
+            PriceModel model;
+            try {
+                model = PriceModel.valueOf(in.readUTF());
+            } catch (IllegalArgumentException exception) {
+                throw new IOException("Unknown price model.", exception);
+            }
+            tiers.add(new PriceTier(from, to, new BigDecimal(new BigInteger(unscaled), scale), model));
+        }
+        return tiers;
+    }
+}
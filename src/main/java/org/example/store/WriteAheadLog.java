@@ -0,0 +1,272 @@
+package org.example.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of checksummed frames with group commit.
+ * <p>
+ * Appends are queued and written by a single writer thread. Each round it drains everything queued so far,
+ * writes it with one write and one fsync, and only then completes the appends' futures. Concurrent writers
+ * therefore share fsyncs instead of paying one each.
+ * <p>
+ * A frame is its payload length, the CRC32C of the payload, and the payload. Reading stops at the first
+ * frame that is truncated or fails its checksum, which is how a write torn by a crash shows up.
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final int HEADER_SIZE = 8;
+    private static final int MAX_PAYLOAD_SIZE = 64 << 20;
+
+    private sealed interface Entry permits Append, Task, Stop {
+    }
+
+    private record Append(byte[] frame, CompletableFuture<Void> durable) implements Entry {
+    }
+
+    private record Task(Runnable action, CompletableFuture<Void> done) implements Entry {
+    }
+
+    private record Stop() implements Entry {
+    }
+
+    /**
+     * The intact frames at the start of a file, and the length they span.
+     */
+    record Frames(List<byte[]> payloads, long validLength) {
+    }
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel channel;
+    private volatile IOException failure;
+    private volatile boolean closed;
+    private volatile long commits;
+
+    /**
+     * Opens the log for appending after its current end.
+     */
+    WriteAheadLog(Path file) throws IOException {
+        this.channel = openForAppend(file);
+        this.writer = new Thread(this::writeLoop, "price-config-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static FileChannel openForAppend(Path file) throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            opened.position(opened.size());
+            // A file created but not yet in a durable directory entry can vanish in a crash, taking its records.
+            syncDirectory(file.toAbsolutePath().getParent());
+        } catch (IOException exception) {
+            opened.close();
+            throw exception;
+        }
+        return opened;
+    }
+
+    /**
+     * Makes the creation, renaming and deletion of files in the directory durable.
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    static byte[] frame(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .array();
+    }
+
+    static Frames readFrames(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<byte[]> payloads = new ArrayList<>();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > MAX_PAYLOAD_SIZE || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+            payloads.add(payload);
+        }
+        return new Frames(payloads, buffer.position());
+    }
+
+    /**
+     * @return A future completed once the payload is on disk, or completed exceptionally if the write failed.
+     */
+    CompletableFuture<Void> append(byte[] payload) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        enqueue(new Append(frame(payload), durable), durable);
+        return durable;
+    }
+
+    /**
+     * Runs an action on the writer thread once every frame appended before it is on disk, e.g. to
+     * {@link #rotate(Path)} the log. Nothing is written while it runs.
+     */
+    CompletableFuture<Void> submit(Runnable action) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(new Task(action, done), done);
+        return done;
+    }
+
+    // Synchronized with close(), so nothing is queued behind the Stop entry where no one would complete it.
+    private synchronized void enqueue(Entry entry, CompletableFuture<Void> future) {
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Write-ahead log is closed."));
+        } else if (failure != null) {
+            future.completeExceptionally(new UncheckedIOException(failure));
+        } else {
+            queue.add(entry);
+        }
+    }
+
+    /**
+     * Continues the log in a new file. Only call this from an action passed to {@link #submit(Runnable)}.
+     */
+    void rotate(Path file) throws IOException {
+        FileChannel next = openForAppend(file);
+        channel.force(true);
+        channel.close();
+        channel = next;
+    }
+
+    /**
+     * @return The number of fsyncs so far; lower than the number of appends when commits were grouped.
+     */
+    long getCommitCount() {
+        return commits;
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        List<Append> pending = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    Entry entry = batch.get(i);
+                    if (entry instanceof Append append) {
+                        pending.add(append);
+                        continue;
+                    }
+                    flush(pending);
+                    if (entry instanceof Task task) {
+                        run(task);
+                    } else {
+                        // Stop is queued last, so there is nothing after it.
+                        return;
+                    }
+                }
+                flush(pending);
+                batch.clear();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<Append> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            int size = 0;
+            for (Append append : pending) {
+                size += append.frame().length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (Append append : pending) {
+                buffer.put(append.frame());
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            commits++;
+            for (Append append : pending) {
+                append.durable().complete(null);
+            }
+        } catch (IOException exception) {
+            // The file may now end in a partial frame; refuse further appends rather than write after it.
+            failure = exception;
+            for (Append append : pending) {
+                append.durable().completeExceptionally(new UncheckedIOException(exception));
+            }
+        }
+        pending.clear();
+    }
+
+    private void run(Task task) {
+        try {
+            task.action().run();
+            task.done().complete(null);
+        } catch (RuntimeException exception) {
+            task.done().completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Writes everything queued so far, then stops the writer thread and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(new Stop());
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        IllegalStateException closedException = new IllegalStateException("Write-ahead log is closed.");
+        for (Entry entry : queue) {
+            if (entry instanceof Append append) {
+                append.durable().completeExceptionally(closedException);
+            } else if (entry instanceof Task task) {
+                task.done().completeExceptionally(closedException);
+            }
+        }
+        queue.clear();
+        channel.close();
+    }
+}
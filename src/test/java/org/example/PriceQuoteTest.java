@@ -0,0 +1,92 @@
+package org.example;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceQuote;
+import org.example.pojos.PriceTier;
+import org.example.pojos.QuoteLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceQuoteTest {
+
+    private final PriceCalculator calculator = new PriceCalculator();
+
+    @Test
+    public void testGraduatedBreakdownListsEveryReachedTier() {
+        PriceConfig priceConfig = new PriceConfig("product1", Arrays.asList(
+                new PriceTier(1, 5, new BigDecimal("9.99"), PriceModel.GRADUATED),
+                new PriceTier(6, 10, new BigDecimal("8.5"), PriceModel.GRADUATED),
+                new PriceTier(11, 20, new BigDecimal("6"), PriceModel.GRADUATED)));
+
+        PriceQuote quote = calculator.quote(priceConfig, 8);
+
+        assertEquals(new BigDecimal("75.45"), quote.getTotal());
+        assertEquals(List.of(
+                new QuoteLine(1, 5, 5, new BigDecimal("9.99"), PriceModel.GRADUATED, new BigDecimal("49.95")),
+                new QuoteLine(6, 10, 3, new BigDecimal("8.5"), PriceModel.GRADUATED, new BigDecimal("25.5"))),
+                quote.getBreakdown());
+        assertSame(quote.getBreakdown(), quote.getBreakdown());
+    }
+
+    @Test
+    public void testBreakdownAddsUpToCalculatePrice() {
+        PriceConfig priceConfig = new PriceConfig("product2", Arrays.asList(
+                new PriceTier(3, 10, new BigDecimal("1.25"), PriceModel.GRADUATED),
+                new PriceTier(11, 40, new BigDecimal("0.8"), PriceModel.GRADUATED),
+                new PriceTier(41, 100, new BigDecimal("0.333"), PriceModel.GRADUATED)));
+        Random random = new Random(37);
+
+        for (int i = 0; i < 200; i++) {
+            int quantity = 3 + random.nextInt(98);
+            PriceQuote quote = calculator.quote(priceConfig, quantity);
+            BigDecimal sum = BigDecimal.ZERO;
+            int units = 0;
+            for (QuoteLine line : quote.getBreakdown()) {
+                sum = sum.add(line.subtotal());
+                units += line.units();
+            }
+            assertEquals(calculator.calculatePrice(priceConfig, quantity), quote.getTotal());
+            assertEquals(0, quote.getTotal().compareTo(sum), "quantity " + quantity);
+            assertEquals(quantity, units);
+        }
+    }
+
+    @Test
+    public void testNonGraduatedBreakdownHasOneLine() {
+        PriceConfig priceConfig = new PriceConfig("product3", Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal("100"), PriceModel.FLAT),
+                new PriceTier(11, 20, new BigDecimal("15"), PriceModel.VOLUME)));
+
+        assertEquals(List.of(new QuoteLine(1, 10, 4, new BigDecimal("100"), PriceModel.FLAT, new BigDecimal("100"))),
+                calculator.quote(priceConfig, 4).getBreakdown());
+        PriceQuote volume = calculator.quote(priceConfig, 12);
+        assertEquals(new BigDecimal("180"), volume.getTotal());
+        assertEquals(new BigDecimal("180"), volume.getBreakdown().get(0).subtotal());
+    }
+
+    @Test
+    public void testBreakdownKeepsTheQuotedTiersAfterTierChange() {
+        PriceConfig priceConfig = new PriceConfig("product4", Arrays.asList(
+                new PriceTier(0, 10, BigDecimal.ONE, PriceModel.GRADUATED),
+                new PriceTier(11, 20, BigDecimal.TEN, PriceModel.GRADUATED)));
+
+        assertEquals(List.of(), calculator.quote(priceConfig, 0).getBreakdown());
+        PriceQuote quote = calculator.quote(priceConfig, 15);
+        priceConfig.setTierPrice(1, new BigDecimal("5"));
+
+        assertEquals(new BigDecimal("60"), quote.getTotal());
+        List<QuoteLine> lines = quote.getBreakdown();
+        assertEquals(2, lines.size());
+        assertEquals(BigDecimal.TEN, lines.get(1).priceValue());
+        assertEquals(quote.getTotal(), lines.stream().map(QuoteLine::subtotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertEquals(new BigDecimal("35"), calculator.quote(priceConfig, 15).getTotal());
+        assertThrows(IllegalArgumentException.class, () -> calculator.quote(priceConfig, 21));
+    }
+}
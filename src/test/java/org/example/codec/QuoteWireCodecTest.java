@@ -0,0 +1,165 @@
+package org.example.codec;
+
+import org.example.PriceCalculator;
+import org.example.codegen.InterpretedPricingFunction;
+import org.example.codegen.PricingFunctionGenerator;
+import org.example.compiled.CompiledPriceConfig;
+import org.example.compiled.GraduatedCostTree;
+import org.example.compiled.PricingFunction;
+import org.example.enums.CurrencyEnum;
+import org.example.enums.PriceModel;
+import org.example.enums.QuoteErrorCode;
+import org.example.overrides.OverlayPricingFunction;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceOverride;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteWireCodecTest {
+
+    @Test
+    public void testSingleRequestAndResponseRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        long key = QuoteWireCodec.productKey("product1");
+
+        QuoteWireCodec.putRequest(buffer, 4, key, 42, CurrencyEnum.USD);
+        assertEquals(key, QuoteWireCodec.requestProductKey(buffer, 4));
+        assertEquals(42, QuoteWireCodec.requestQuantity(buffer, 4));
+        assertEquals(CurrencyEnum.USD, QuoteWireCodec.requestCurrency(buffer, 4));
+        assertEquals(0, buffer.position(), "codec must not move the buffer position");
+
+        QuoteWireCodec.putResponse(buffer, 20, key, 42, CurrencyEnum.USD, new BigDecimal("75.45"));
+        assertEquals(7545, QuoteWireCodec.responseUnscaledPrice(buffer, 20));
+        assertEquals(2, QuoteWireCodec.responseScale(buffer, 20));
+        assertEquals(QuoteErrorCode.NONE, QuoteWireCodec.responseErrorCode(buffer, 20));
+        assertEquals(new BigDecimal("75.45"), QuoteWireCodec.responsePrice(buffer, 20));
+    }
+
+    @Test
+    public void testUnrepresentablePriceBecomesOverflowError() {
+        ByteBuffer buffer = ByteBuffer.allocate(QuoteWireCodec.RESPONSE_SIZE);
+
+        QuoteWireCodec.putResponse(buffer, 0, 1L, 1, CurrencyEnum.USD, new BigDecimal("12345678901234567890.5"));
+
+        assertEquals(QuoteErrorCode.PRICE_OVERFLOW, QuoteWireCodec.responseErrorCode(buffer, 0));
+        assertNull(QuoteWireCodec.responsePrice(buffer, 0));
+    }
+
+    @Test
+    public void testBatchHandlerAnswersEveryRequestInOrder() {
+        PriceConfig config = new PriceConfig("product1", Arrays.asList(
+                new PriceTier(1, 5, new BigDecimal("10.0"), PriceModel.GRADUATED),
+                new PriceTier(6, 10, new BigDecimal("8.0"), PriceModel.GRADUATED)));
+        long key = QuoteWireCodec.productKey("product1");
+        Map<Long, PricingFunction> products = Map.of(key, CompiledPriceConfig.compile(config));
+        QuoteBatchHandler handler = new QuoteBatchHandler(products::get);
+
+        int[] quantities = {3, 7, 11, -1, 10};
+        ByteBuffer requests = ByteBuffer.allocate(QuoteWireCodec.requestBatchSize(quantities.length + 1));
+        QuoteWireCodec.putBatchHeader(requests, 0, QuoteWireCodec.REQUEST_BATCH, quantities.length + 1);
+        for (int i = 0; i < quantities.length; i++) {
+            QuoteWireCodec.putRequest(requests, QuoteWireCodec.requestOffset(0, i), key, quantities[i], CurrencyEnum.USD);
+        }
+        QuoteWireCodec.putRequest(requests, QuoteWireCodec.requestOffset(0, quantities.length), 99L, 1, CurrencyEnum.USD);
+
+        ByteBuffer responses = ByteBuffer.allocateDirect(QuoteWireCodec.responseBatchSize(quantities.length + 1));
+        int written = handler.handle(requests, 0, responses, 0);
+
+        assertEquals(responses.capacity(), written);
+        assertEquals(6, QuoteWireCodec.batchCount(responses, 0, QuoteWireCodec.RESPONSE_BATCH));
+        assertEquals(new BigDecimal("30.0"), QuoteWireCodec.responsePrice(responses, QuoteWireCodec.responseOffset(0, 0)));
+        assertEquals(new BigDecimal("66.0"), QuoteWireCodec.responsePrice(responses, QuoteWireCodec.responseOffset(0, 1)));
+        assertEquals(QuoteErrorCode.ABOVE_MAX_RANGE, QuoteWireCodec.responseErrorCode(responses, QuoteWireCodec.responseOffset(0, 2)));
+        assertEquals(QuoteErrorCode.NEGATIVE_QUANTITY, QuoteWireCodec.responseErrorCode(responses, QuoteWireCodec.responseOffset(0, 3)));
+        assertEquals(10, QuoteWireCodec.responseQuantity(responses, QuoteWireCodec.responseOffset(0, 4)));
+        assertEquals(QuoteErrorCode.UNKNOWN_PRODUCT, QuoteWireCodec.responseErrorCode(responses, QuoteWireCodec.responseOffset(0, 5)));
+    }
+
+    @Test
+    public void testUnknownCurrencyFailsOnlyItsOwnRecord() {
+        PriceConfig config = new PriceConfig("product1", Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal("2"), PriceModel.VOLUME)));
+        long key = QuoteWireCodec.productKey("product1");
+        QuoteBatchHandler handler = new QuoteBatchHandler(Map.of(key, CompiledPriceConfig.compile(config))::get);
+
+        ByteBuffer requests = ByteBuffer.allocate(QuoteWireCodec.requestBatchSize(3));
+        QuoteWireCodec.putBatchHeader(requests, 0, QuoteWireCodec.REQUEST_BATCH, 3);
+        for (int i = 0; i < 3; i++) {
+            QuoteWireCodec.putRequest(requests, QuoteWireCodec.requestOffset(0, i), key, i + 1, CurrencyEnum.USD);
+        }
+        requests.putShort(QuoteWireCodec.requestOffset(0, 1) + 12, (short) 999);
+
+        ByteBuffer responses = ByteBuffer.allocate(QuoteWireCodec.responseBatchSize(3));
+        handler.handle(requests, 0, responses, 0);
+
+        assertEquals(new BigDecimal("2"), QuoteWireCodec.responsePrice(responses, QuoteWireCodec.responseOffset(0, 0)));
+        int bad = QuoteWireCodec.responseOffset(0, 1);
+        assertEquals(QuoteErrorCode.UNKNOWN_CURRENCY, QuoteWireCodec.responseErrorCode(responses, bad));
+        assertEquals(2, QuoteWireCodec.responseQuantity(responses, bad));
+        assertEquals(new BigDecimal("6"), QuoteWireCodec.responsePrice(responses, QuoteWireCodec.responseOffset(0, 2)));
+    }
+
+    @Test
+    public void testRejectionsAreClassifiedFromTheLadderRange() {
+        PriceCalculator calculator = new PriceCalculator();
+        PriceConfig config = new PriceConfig("product1", Arrays.asList(
+                new PriceTier(5, 10, BigDecimal.ONE, PriceModel.GRADUATED),
+                new PriceTier(11, 20, new BigDecimal("0.5"), PriceModel.GRADUATED)));
+        CompiledPriceConfig compiled = CompiledPriceConfig.compile(config);
+        List<PricingFunction> functions = List.of(
+                compiled,
+                new PricingFunctionGenerator(calculator).generate(config),
+                new InterpretedPricingFunction(calculator, config),
+                GraduatedCostTree.attach(config),
+                new OverlayPricingFunction(compiled, new PriceOverride("customer1", "product1", List.of())));
+
+        for (PricingFunction function : functions) {
+            assertEquals(List.of(QuoteErrorCode.NEGATIVE_QUANTITY, QuoteErrorCode.BELOW_MIN_RANGE, QuoteErrorCode.NONE,
+                            QuoteErrorCode.NONE, QuoteErrorCode.ABOVE_MAX_RANGE),
+                    errorCodes(function, -1, 4, 5, 20, 21), function.getClass().getName());
+        }
+        PriceConfig empty = new PriceConfig("product2", List.of());
+        assertEquals(List.of(QuoteErrorCode.INVALID_PRICE_CONFIG), errorCodes(CompiledPriceConfig.compile(empty), 1));
+        assertEquals(List.of(QuoteErrorCode.INVALID_PRICE_CONFIG),
+                errorCodes(new PricingFunctionGenerator(calculator).generate(empty), 1));
+        // A function that doesn't declare its range leaves the rejection unclassified.
+        PricingFunction opaque = quantity -> calculator.calculatePrice(config, quantity);
+        assertEquals(List.of(QuoteErrorCode.REJECTED, QuoteErrorCode.NONE), errorCodes(opaque, 21, 20));
+    }
+
+    private static List<QuoteErrorCode> errorCodes(PricingFunction function, int... quantities) {
+        ByteBuffer requests = ByteBuffer.allocate(QuoteWireCodec.requestBatchSize(quantities.length));
+        QuoteWireCodec.putBatchHeader(requests, 0, QuoteWireCodec.REQUEST_BATCH, quantities.length);
+        for (int i = 0; i < quantities.length; i++) {
+            QuoteWireCodec.putRequest(requests, QuoteWireCodec.requestOffset(0, i), 1L, quantities[i], CurrencyEnum.USD);
+        }
+        ByteBuffer responses = ByteBuffer.allocate(QuoteWireCodec.responseBatchSize(quantities.length));
+        new QuoteBatchHandler(key -> function).handle(requests, 0, responses, 0);
+        List<QuoteErrorCode> codes = new ArrayList<>();
+        for (int i = 0; i < quantities.length; i++) {
+            codes.add(QuoteWireCodec.responseErrorCode(responses, QuoteWireCodec.responseOffset(0, i)));
+        }
+        return codes;
+    }
+
+    @Test
+    public void testTruncatedBatchIsRejected() {
+        ByteBuffer requests = ByteBuffer.allocate(QuoteWireCodec.requestBatchSize(2));
+        QuoteWireCodec.putBatchHeader(requests, 0, QuoteWireCodec.REQUEST_BATCH, 3);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> QuoteWireCodec.batchCount(requests, 0, QuoteWireCodec.REQUEST_BATCH));
+        assertEquals("Truncated batch of 3 records.", thrown.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> QuoteWireCodec.batchCount(requests, 0, QuoteWireCodec.RESPONSE_BATCH));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.codegen;
+
+import org.example.PriceCalculator;
+import org.example.compiled.PricingFunction;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingFunctionGeneratorTest {
+
+    private PriceCalculator calculator;
+    private PricingFunctionGenerator generator;
+
+    @BeforeEach
+    public void setUp() {
+        calculator = new PriceCalculator();
+        generator = new PricingFunctionGenerator(calculator);
+    }
+
+    @Test
+    public void testGeneratedFunctionMatchesCalculator() {
+        List<PriceConfig> configs = List.of(
+                new PriceConfig("graduated", Arrays.asList(
+                        new PriceTier(1, 5, new BigDecimal("9.99"), PriceModel.GRADUATED),
+                        new PriceTier(6, 10, new BigDecimal("8.50"), PriceModel.GRADUATED),
+                        new PriceTier(11, 15, new BigDecimal("6"), PriceModel.GRADUATED))),
+                new PriceConfig("startsAfterOne", Arrays.asList(
+                        new PriceTier(3, 5, new BigDecimal("10.0"), PriceModel.GRADUATED),
+                        new PriceTier(6, 9, new BigDecimal("7.5"), PriceModel.GRADUATED))),
+                new PriceConfig("startsAtZero", List.of(
+                        new PriceTier(0, 5, new BigDecimal("10.00"), PriceModel.GRADUATED))),
+                new PriceConfig("mixed", Arrays.asList(
+                        new PriceTier(0, 10, BigDecimal.valueOf(100.00), PriceModel.FLAT),
+                        new PriceTier(11, 20, BigDecimal.valueOf(150.00), PriceModel.VOLUME),
+                        new PriceTier(21, 30, BigDecimal.valueOf(250.00), PriceModel.VOLUME))));
+
+        for (PriceConfig config : configs) {
+            PricingFunction function = generator.generate(config);
+            assertTrue(function.getClass().isHidden(), config.getProductId());
+            int max = config.getPriceTiers().get(config.getPriceTiers().size() - 1).getTo();
+            for (int quantity = -1; quantity <= max + 1; quantity++) {
+                assertSameOutcome(config, function, quantity);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeLadderFallsBackToCalculator() {
+        List<PriceTier> tiers = new ArrayList<>();
+        for (int i = 0; i <= PricingFunctionGenerator.MAX_GENERATED_TIERS; i++) {
+            tiers.add(new PriceTier(i * 10 + 1, i * 10 + 10, BigDecimal.valueOf(1000 - i), PriceModel.GRADUATED));
+        }
+        PriceConfig config = new PriceConfig("large", tiers);
+
+        PricingFunction function = generator.generate(config);
+
+        assertInstanceOf(InterpretedPricingFunction.class, function);
+        assertEquals(calculator.calculatePrice(config, 777), function.calculatePrice(777));
+    }
+
+    @Test
+    public void testRegistryReplacesFunction() {
+        PricingFunctionRegistry registry = new PricingFunctionRegistry(generator);
+        PriceConfig config = new PriceConfig("product1", List.of(new PriceTier(1, 10, BigDecimal.TEN, PriceModel.VOLUME)));
+
+        PricingFunction first = registry.replace(config);
+        assertEquals(new BigDecimal("30"), registry.get("product1").calculatePrice(3));
+
+        config.setPriceTiers(List.of(new PriceTier(1, 10, BigDecimal.ONE, PriceModel.VOLUME)));
+        PricingFunction second = registry.replace(config);
+        assertNotSame(first.getClass(), second.getClass());
+        assertEquals(new BigDecimal("3"), registry.get("product1").calculatePrice(3));
+
+        registry.remove("product1");
+        assertThrows(IllegalArgumentException.class, () -> registry.get("product1"));
+    }
+
+    private void assertSameOutcome(PriceConfig config, PricingFunction function, int quantity) {
+        BigDecimal expected;
+        try {
+            expected = calculator.calculatePrice(config, quantity);
+        } catch (IllegalArgumentException exception) {
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                    () -> function.calculatePrice(quantity));
+            assertEquals(exception.getMessage(), thrown.getMessage());
+            return;
+        }
+        assertEquals(expected, function.calculatePrice(quantity), config.getProductId() + " x " + quantity);
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.compiled;
+
+import org.example.PriceCalculator;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.example.pojos.PriceTierListener;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraduatedCostTreeTest {
+
+    private final PriceCalculator calculator = new PriceCalculator();
+
+    private static PriceConfig ladder(int tiers) {
+        List<PriceTier> priceTiers = new ArrayList<>();
+        for (int i = 0; i < tiers; i++) {
+            priceTiers.add(new PriceTier(i * 10 + 1, i * 10 + 10, BigDecimal.valueOf(10_000 - i, 2), PriceModel.GRADUATED));
+        }
+        return new PriceConfig("product1", priceTiers);
+    }
+
+    @Test
+    public void testTreeFollowsRandomEdits() {
+        PriceConfig priceConfig = ladder(5_000);
+        GraduatedCostTree tree = GraduatedCostTree.attach(priceConfig);
+        Random random = new Random(36);
+
+        for (int edit = 0; edit < 2_000; edit++) {
+            List<PriceTier> tiers = priceConfig.getPriceTiers();
+            switch (random.nextInt(4)) {
+                case 0 -> priceConfig.setTierPrice(random.nextInt(tiers.size()), BigDecimal.valueOf(random.nextInt(5_000), random.nextInt(4)));
+                case 1 -> {
+                    PriceTier tier = tiers.get(random.nextInt(tiers.size()));
+                    if (tier.getTo() > tier.getFrom()) {
+                        priceConfig.splitTier(tier.getFrom() + 1 + random.nextInt(tier.getTo() - tier.getFrom()), BigDecimal.ONE);
+                    }
+                }
+                case 2 -> priceConfig.removePriceTier(random.nextBoolean() ? tiers.get(0) : tiers.get(tiers.size() - 1));
+                default -> {
+                    PriceTier first = tiers.get(0);
+                    PriceTier last = tiers.get(tiers.size() - 1);
+                    if (first.getFrom() > 1) {
+                        priceConfig.addPriceTier(new PriceTier(1, first.getFrom() - 1, new BigDecimal("3.5"), PriceModel.GRADUATED));
+                    } else {
+                        priceConfig.addPriceTier(new PriceTier(last.getTo() + 1, last.getTo() + 7, new BigDecimal("0.125"), PriceModel.GRADUATED));
+                    }
+                }
+            }
+            if (edit % 100 == 0) {
+                assertMatches(priceConfig, tree, random);
+            }
+        }
+        assertMatches(priceConfig, tree, random);
+    }
+
+    private void assertMatches(PriceConfig priceConfig, GraduatedCostTree tree, Random random) {
+        List<PriceTier> tiers = priceConfig.getPriceTiers();
+        CompiledPriceConfig compiled = CompiledPriceConfig.compile(priceConfig);
+        assertEquals(tiers.size(), tree.getTierCount());
+        for (int i = 0; i < 50; i++) {
+            int tier = random.nextInt(tiers.size());
+            assertEquals(compiled.getCumulativeCost(tier), tree.getCumulativeCost(tier));
+            int quantity = tiers.get(0).getFrom() + random.nextInt(tiers.get(tiers.size() - 1).getTo() - tiers.get(0).getFrom() + 1);
+            assertEquals(calculator.calculatePrice(priceConfig, quantity), tree.calculatePrice(quantity), "quantity " + quantity);
+        }
+    }
+
+    @Test
+    public void testSplitIsPublishedAsOneEdit() {
+        PriceConfig priceConfig = new PriceConfig("product3", Arrays.asList(
+                new PriceTier(1, 10, BigDecimal.TEN, PriceModel.GRADUATED),
+                new PriceTier(11, 20, BigDecimal.ONE, PriceModel.GRADUATED)));
+        GraduatedCostTree tree = GraduatedCostTree.attach(priceConfig);
+        List<BigDecimal> seen = new ArrayList<>();
+        // Runs after the tree on every event, like a quote racing the edit.
+        priceConfig.addTierListener(new PriceTierListener() {
+            @Override
+            public void tierInserted(int index, PriceTier tier) {
+                seen.add(tree.calculatePrice(8));
+            }
+
+            @Override
+            public void tierRemoved(int index, PriceTier tier) {
+                seen.add(tree.calculatePrice(8));
+            }
+
+            @Override
+            public void tierReplaced(int index, PriceTier previous, PriceTier tier) {
+                seen.add(tree.calculatePrice(8));
+            }
+
+            @Override
+            public void tierSplit(int index, PriceTier previous, PriceTier lower, PriceTier upper) {
+                seen.add(tree.calculatePrice(8));
+            }
+
+            @Override
+            public void tiersReset(List<PriceTier> tiers) {
+                seen.add(tree.calculatePrice(8));
+            }
+        });
+
+        assertEquals(new BigDecimal("80"), tree.calculatePrice(8));
+        priceConfig.splitTier(6, new BigDecimal("2"));
+
+        // 5 * 10 + 3 * 2
+        assertEquals(List.of(new BigDecimal("56")), seen);
+        assertEquals(3, tree.getTierCount());
+    }
+
+    @Test
+    public void testRangeChecksMatchCalculatePrice() {
+        PriceConfig priceConfig = new PriceConfig("product2", Arrays.asList(
+                new PriceTier(5, 10, new BigDecimal("2.5"), PriceModel.GRADUATED),
+                new PriceTier(11, 20, new BigDecimal("2"), PriceModel.GRADUATED)));
+        GraduatedCostTree tree = GraduatedCostTree.attach(priceConfig);
+
+        assertEquals(new BigDecimal("12.5"), tree.calculatePrice(5));
+        assertEquals("Quantity is below the available min range.",
+                assertThrows(IllegalArgumentException.class, () -> tree.calculatePrice(4)).getMessage());
+        assertEquals("Quantity exceeds maximum tier range.",
+                assertThrows(IllegalArgumentException.class, () -> tree.calculatePrice(21)).getMessage());
+
+        priceConfig.setPriceTiers(List.of(new PriceTier(1, 3, BigDecimal.ONE, PriceModel.GRADUATED)));
+        assertEquals(1, tree.getTierCount());
+        assertEquals(new BigDecimal("3"), tree.calculatePrice(3));
+    }
+
+    @Test
+    public void testOnlyGraduatedLaddersArePriced() {
+        PriceConfig volume = new PriceConfig("product4", List.of(new PriceTier(1, 10, BigDecimal.TEN, PriceModel.VOLUME)));
+        assertEquals("Cumulative costs are only defined for GRADUATED tiers.",
+                assertThrows(IllegalArgumentException.class, () -> GraduatedCostTree.attach(volume)).getMessage());
+
+        PriceConfig priceConfig = ladder(2);
+        GraduatedCostTree tree = GraduatedCostTree.attach(priceConfig);
+        priceConfig.setPriceTiers(List.of(new PriceTier(1, 10, BigDecimal.TEN, PriceModel.VOLUME)));
+        assertThrows(IllegalStateException.class, () -> tree.calculatePrice(5));
+        priceConfig.setPriceTiers(List.of(new PriceTier(1, 10, BigDecimal.ONE, PriceModel.GRADUATED)));
+        assertEquals(new BigDecimal("5"), tree.calculatePrice(5));
+    }
+
+    @Test
+    public void testRejectedEditsLeaveLadderUnchanged() {
+        PriceConfig priceConfig = ladder(3);
+        List<PriceTier> before = new ArrayList<>(priceConfig.getPriceTiers());
+        long version = priceConfig.getVersion();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> priceConfig.addPriceTier(new PriceTier(25, 40, BigDecimal.ONE, PriceModel.GRADUATED)));
+        assertThrows(IllegalArgumentException.class,
+                () -> priceConfig.addPriceTier(new PriceTier(31, 40, BigDecimal.ONE, PriceModel.VOLUME)));
+        assertThrows(IllegalArgumentException.class, () -> priceConfig.removePriceTier(before.get(1)));
+        assertThrows(IllegalArgumentException.class, () -> priceConfig.splitTier(11, BigDecimal.ONE));
+
+        assertEquals(before, priceConfig.getPriceTiers());
+        assertEquals(version, priceConfig.getVersion());
+    }
+}
@@ -0,0 +1,354 @@
+package org.example.fuzz;
+
+import org.example.compiled.PricingFunction;
+import org.example.enums.PriceModel;
+import org.example.fuzz.ReferencePriceOracle.Outcome;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random tier ladders (valid and invalid) and quantities, runs them through every registered
+ * pricing engine and compares each result with {@link ReferencePriceOracle}. Mismatches are shrunk to a
+ * minimal ladder and quantity before being reported.
+ * <p>
+ * The JUnit suite runs a short, seeded session. For a soak run use {@code mvn test -Pfuzz-soak} or
+ * {@code DifferentialFuzzer <cases> [seed]} from the test classpath.
+ */
+public class DifferentialFuzzer {
+
+    private static final int QUANTITIES_PER_CASE = 16;
+    private static final int MAX_COUNTEREXAMPLES = 10;
+    private static final int MAX_SHRINK_STEPS = 1_000;
+
+    private final List<PricingEngine> engines;
+    private final Random random;
+    private final long seed;
+
+    public DifferentialFuzzer(List<PricingEngine> engines, long seed) {
+        this.engines = engines;
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) {
+        long cases = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        Report report = new DifferentialFuzzer(PricingEngines.all(), seed).run(cases);
+        System.out.println(report);
+        if (!report.counterexamples().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    public Report run(long cases) {
+        List<String> counterexamples = new ArrayList<>();
+        long quotes = 0;
+        for (long i = 0; i < cases && counterexamples.size() < MAX_COUNTEREXAMPLES; i++) {
+            List<PriceTier> tiers = randomTiers();
+            int[] quantities = randomQuantities(tiers);
+            quotes += runCase(tiers, quantities, counterexamples);
+        }
+        return new Report(seed, cases, quotes, counterexamples);
+    }
+
+    private long runCase(List<PriceTier> tiers, int[] quantities, List<String> counterexamples) {
+        String expectedError = ReferencePriceOracle.validate(tiers);
+        PriceConfig priceConfig;
+        try {
+            priceConfig = new PriceConfig("fuzz", tiers);
+        } catch (IllegalArgumentException exception) {
+            if (!exception.getMessage().equals(expectedError)) {
+                counterexamples.add("PriceConfig rejected " + describe(tiers) + " with '" + exception.getMessage()
+                        + "', oracle expected " + (expectedError == null ? "acceptance" : "'" + expectedError + "'"));
+            }
+            return 0;
+        }
+        if (expectedError != null) {
+            counterexamples.add("PriceConfig accepted " + describe(tiers) + ", oracle expected '" + expectedError + "'");
+            return 0;
+        }
+
+        long quotes = 0;
+        for (PricingEngine engine : engines) {
+            if (!engine.supports(priceConfig)) {
+                continue;
+            }
+            PricingFunction function;
+            try {
+                function = engine.prepare(priceConfig);
+            } catch (RuntimeException exception) {
+                counterexamples.add(shrink(engine, tiers, quantities[0]));
+                return quotes;
+            }
+            for (int quantity : quantities) {
+                quotes++;
+                if (!outcome(function, quantity).matches(ReferencePriceOracle.quote(tiers, quantity), engine.exactScale())) {
+                    counterexamples.add(shrink(engine, tiers, quantity));
+                    return quotes;
+                }
+            }
+        }
+        return quotes;
+    }
+
+    private static Outcome outcome(PricingFunction function, int quantity) {
+        try {
+            return Outcome.value(function.calculatePrice(quantity));
+        } catch (IllegalArgumentException exception) {
+            return Outcome.error(exception.getMessage());
+        } catch (RuntimeException exception) {
+            return Outcome.error("threw " + exception);
+        }
+    }
+
+    private static boolean fails(PricingEngine engine, List<PriceTier> tiers, int quantity) {
+        if (ReferencePriceOracle.validate(tiers) != null) {
+            return false;
+        }
+        PriceConfig priceConfig = new PriceConfig("fuzz", copy(tiers));
+        if (!engine.supports(priceConfig)) {
+            return false;
+        }
+        Outcome actual;
+        try {
+            actual = outcome(engine.prepare(priceConfig), quantity);
+        } catch (RuntimeException exception) {
+            return true;
+        }
+        return !actual.matches(ReferencePriceOracle.quote(tiers, quantity), engine.exactScale());
+    }
+
+    /**
+     * Greedily applies the first simplification that still fails until none does.
+     */
+    static String shrink(PricingEngine engine, List<PriceTier> tiers, int quantity) {
+        List<PriceTier> current = ReferencePriceOracle.sorted(copy(tiers));
+        int currentQuantity = quantity;
+        for (int step = 0; step < MAX_SHRINK_STEPS; step++) {
+            boolean shrunk = false;
+            for (List<PriceTier> candidate : simplerLadders(current)) {
+                if (fails(engine, candidate, currentQuantity)) {
+                    current = candidate;
+                    shrunk = true;
+                    break;
+                }
+            }
+            if (!shrunk) {
+                for (int candidate : simplerQuantities(current, currentQuantity)) {
+                    if (Math.abs((long) candidate) < Math.abs((long) currentQuantity) && fails(engine, current, candidate)) {
+                        currentQuantity = candidate;
+                        shrunk = true;
+                        break;
+                    }
+                }
+            }
+            if (!shrunk) {
+                break;
+            }
+        }
+        String actual;
+        try {
+            actual = outcome(engine.prepare(new PriceConfig("fuzz", copy(current))), currentQuantity).toString();
+        } catch (RuntimeException exception) {
+            actual = "threw " + exception;
+        }
+        return "engine '" + engine.name() + "' on " + describe(current) + " x " + currentQuantity
+                + ": expected " + ReferencePriceOracle.quote(current, currentQuantity) + ", got " + actual;
+    }
+
+    private static List<List<PriceTier>> simplerLadders(List<PriceTier> tiers) {
+        List<List<PriceTier>> candidates = new ArrayList<>();
+        if (tiers.isEmpty()) {
+            return candidates;
+        }
+        if (tiers.size() > 1) {
+            candidates.add(copy(tiers.subList(1, tiers.size())));
+            candidates.add(copy(tiers.subList(0, tiers.size() - 1)));
+        }
+        if (tiers.get(0).getFrom() > 0) {
+            candidates.add(shifted(tiers, 0, -1));
+        }
+        for (int i = 0; i < tiers.size(); i++) {
+            PriceTier tier = tiers.get(i);
+            int width = tier.getTo() - tier.getFrom();
+            if (width > 0) {
+                List<PriceTier> narrower = shifted(tiers, i + 1, -(width - width / 2));
+                narrower.set(i, new PriceTier(tier.getFrom(), tier.getFrom() + width / 2, tier.getPriceValue(), tier.getPriceModel()));
+                candidates.add(narrower);
+            }
+            BigDecimal price = tier.getPriceValue();
+            if (price.compareTo(BigDecimal.ONE) != 0) {
+                candidates.add(withPrice(tiers, i, BigDecimal.ONE));
+            }
+            if (price.scale() > 0) {
+                candidates.add(withPrice(tiers, i, price.setScale(price.scale() - 1, RoundingMode.DOWN)));
+            }
+        }
+        return candidates;
+    }
+
+    private static int[] simplerQuantities(List<PriceTier> tiers, int quantity) {
+        int start = tiers.isEmpty() ? 0 : tiers.get(0).getFrom();
+        return new int[]{0, start, quantity / 2, quantity - Integer.signum(quantity)};
+    }
+
+    // Copies the tiers, moving tiers from index "start" on by delta units.
+    private static List<PriceTier> shifted(List<PriceTier> tiers, int start, int delta) {
+        List<PriceTier> result = new ArrayList<>();
+        for (int i = 0; i < tiers.size(); i++) {
+            PriceTier tier = tiers.get(i);
+            int offset = i >= start ? delta : 0;
+            result.add(new PriceTier(tier.getFrom() + offset, tier.getTo() + offset, tier.getPriceValue(), tier.getPriceModel()));
+        }
+        return result;
+    }
+
+    private static List<PriceTier> withPrice(List<PriceTier> tiers, int index, BigDecimal price) {
+        List<PriceTier> result = copy(tiers);
+        PriceTier tier = result.get(index);
+        result.set(index, new PriceTier(tier.getFrom(), tier.getTo(), price, tier.getPriceModel()));
+        return result;
+    }
+
+    private static List<PriceTier> copy(List<PriceTier> tiers) {
+        List<PriceTier> result = new ArrayList<>(tiers.size());
+        for (PriceTier tier : tiers) {
+            result.add(new PriceTier(tier.getFrom(), tier.getTo(), tier.getPriceValue(), tier.getPriceModel()));
+        }
+        return result;
+    }
+
+    private static String describe(List<PriceTier> tiers) {
+        StringBuilder description = new StringBuilder("[");
+        for (PriceTier tier : tiers) {
+            if (description.length() > 1) {
+                description.append(", ");
+            }
+            description.append(tier.getFrom()).append('-').append(tier.getTo()).append(' ')
+                    .append(tier.getPriceModel()).append(' ').append(tier.getPriceValue());
+        }
+        return description.append(']').toString();
+    }
+
+    private List<PriceTier> randomTiers() {
+        if (random.nextInt(50) == 0) {
+            return new ArrayList<>();
+        }
+        int count = random.nextInt(10) == 0 ? 1 + random.nextInt(200) : 1 + random.nextInt(6);
+        boolean graduated = random.nextBoolean();
+        int from = switch (random.nextInt(5)) {
+            case 0 -> 0;
+            case 1 -> 2 + random.nextInt(50);
+            default -> 1;
+        };
+
+        List<PriceTier> tiers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long to = (long) from + randomWidth() - 1;
+            if (i == count - 1 && random.nextInt(20) == 0) {
+                to = Integer.MAX_VALUE;
+            }
+            if (to >= Integer.MAX_VALUE) {
+                tiers.add(new PriceTier(from, Integer.MAX_VALUE, randomPrice(), randomModel(graduated)));
+                break;
+            }
+            tiers.add(new PriceTier(from, (int) to, randomPrice(), randomModel(graduated)));
+            from = (int) to + 1;
+        }
+
+        if (random.nextInt(8) == 0) {
+            breakLadder(tiers);
+        }
+        if (random.nextInt(4) == 0) {
+            Collections.shuffle(tiers, random);
+        }
+        return tiers;
+    }
+
+    private void breakLadder(List<PriceTier> tiers) {
+        int index = random.nextInt(tiers.size());
+        PriceTier tier = tiers.get(index);
+        switch (random.nextInt(3)) {
+            case 0 -> tiers.add(new PriceTier(tier.getTo(), tier.getTo(), randomPrice(), tier.getPriceModel()));
+            case 1 -> {
+                if (tier.getTo() < Integer.MAX_VALUE - 2) {
+                    tiers.add(new PriceTier(tier.getTo() + 2, tier.getTo() + 2, randomPrice(), tier.getPriceModel()));
+                }
+            }
+            default -> tiers.set(index, new PriceTier(tier.getFrom(), tier.getTo(), tier.getPriceValue(),
+                    tier.getPriceModel() == PriceModel.GRADUATED ? PriceModel.VOLUME : PriceModel.GRADUATED));
+        }
+    }
+
+    private long randomWidth() {
+        return switch (random.nextInt(4)) {
+            case 0 -> 1;
+            case 1 -> 1 + random.nextInt(10);
+            case 2 -> 1 + random.nextInt(1_000);
+            default -> 1 + random.nextInt(1_000_000);
+        };
+    }
+
+    private BigDecimal randomPrice() {
+        long unscaled = switch (random.nextInt(4)) {
+            case 0 -> 0;
+            case 1 -> random.nextInt(100);
+            default -> random.nextInt(1_000_000);
+        };
+        int scale = random.nextInt(10) == 0 ? -1 : random.nextInt(5);
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private PriceModel randomModel(boolean graduated) {
+        if (graduated) {
+            return PriceModel.GRADUATED;
+        }
+        return random.nextBoolean() ? PriceModel.FLAT : PriceModel.VOLUME;
+    }
+
+    private int[] randomQuantities(List<PriceTier> tiers) {
+        int[] quantities = new int[QUANTITIES_PER_CASE];
+        for (int i = 0; i < quantities.length; i++) {
+            if (tiers.isEmpty() || random.nextInt(8) == 0) {
+                quantities[i] = switch (random.nextInt(4)) {
+                    case 0 -> -1 - random.nextInt(10);
+                    case 1 -> 0;
+                    case 2 -> Integer.MAX_VALUE;
+                    default -> random.nextInt(Integer.MAX_VALUE);
+                };
+                continue;
+            }
+            PriceTier tier = tiers.get(random.nextInt(tiers.size()));
+            long quantity = switch (random.nextInt(5)) {
+                case 0 -> tier.getFrom() - 1L;
+                case 1 -> tier.getFrom();
+                case 2 -> tier.getTo();
+                case 3 -> tier.getTo() + 1L;
+                default -> tier.getFrom() + random.nextLong((long) tier.getTo() - tier.getFrom() + 1);
+            };
+            quantities[i] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, quantity));
+        }
+        return quantities;
+    }
+
+    public record Report(long seed, long cases, long quotes, List<String> counterexamples) {
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder()
+                    .append("seed=").append(seed).append(", cases=").append(cases).append(", quotes=").append(quotes)
+                    .append(", counterexamples=").append(counterexamples.size());
+            for (String counterexample : counterexamples) {
+                report.append(System.lineSeparator()).append("  ").append(counterexample);
+            }
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.fuzz;
+
+import org.example.PriceCalculator;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifferentialFuzzerTest {
+
+    // Override with -Dfuzz.cases / -Dfuzz.seed, or run the fuzz-soak profile for a long session.
+    private static final long CASES = Long.getLong("fuzz.cases", 10_000);
+    private static final long SEED = Long.getLong("fuzz.seed", 20261018L);
+
+    @Test
+    public void testAllEnginesAgreeWithOracle() {
+        DifferentialFuzzer.Report report = new DifferentialFuzzer(PricingEngines.all(), SEED).run(CASES);
+
+        assertTrue(report.counterexamples().isEmpty(), report.toString());
+        assertTrue(report.quotes() > CASES, report.toString());
+    }
+
+    @Test
+    public void testPlantedFirstTierBugIsFoundAndMinimized() {
+        PriceCalculator calculator = new PriceCalculator();
+        // Charges the first tier by its width, i.e. forgets that it always covers units 1..to.
+        PricingEngine buggy = PricingEngines.engine("buggy", config -> quantity -> {
+            PriceTier first = config.getPriceTiers().get(0);
+            if (first.getPriceModel() != PriceModel.GRADUATED || quantity < first.getFrom() || quantity > first.getTo()) {
+                return calculator.calculatePrice(config, quantity);
+            }
+            return BigDecimal.ZERO.add(first.getPriceValue().multiply(
+                    BigDecimal.valueOf(Math.min(quantity, first.getTo() - first.getFrom() + 1))));
+        });
+
+        DifferentialFuzzer.Report report = new DifferentialFuzzer(List.of(buggy), SEED).run(5_000);
+
+        assertFalse(report.counterexamples().isEmpty());
+        String counterexample = report.counterexamples().get(0);
+        assertTrue(counterexample.startsWith("engine 'buggy' on ["), counterexample);
+        assertFalse(counterexample.substring(0, counterexample.indexOf(']')).contains(","),
+                "expected a single-tier ladder: " + counterexample);
+    }
+}
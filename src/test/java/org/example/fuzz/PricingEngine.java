@@ -0,0 +1,28 @@
+package org.example.fuzz;
+
+import org.example.compiled.PricingFunction;
+import org.example.pojos.PriceConfig;
+
+/**
+ * A pricing path under differential test.
+ */
+interface PricingEngine {
+
+    String name();
+
+    /**
+     * Builds whatever the engine needs for one configuration; the result prices several quantities.
+     */
+    PricingFunction prepare(PriceConfig priceConfig);
+
+    default boolean supports(PriceConfig priceConfig) {
+        return true;
+    }
+
+    /**
+     * Whether results must also match the oracle's BigDecimal scale, not only its numeric value.
+     */
+    default boolean exactScale() {
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.fuzz;
+
+import org.example.PriceCalculator;
+import org.example.codegen.InterpretedPricingFunction;
+import org.example.codegen.PricingFunctionGenerator;
+import org.example.compiled.CompiledPriceConfig;
+import org.example.compiled.GraduatedCostTree;
+import org.example.compiled.PricingFunction;
+import org.example.enums.PriceModel;
+import org.example.metering.GraduatedLadder;
+import org.example.metering.MeterTable;
+import org.example.overrides.OverlayPricingFunction;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceOverride;
+import org.example.pojos.PriceRangeOverride;
+import org.example.pojos.PriceTier;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Every pricing path that must stay equivalent to PriceCalculator.calculatePrice. Register new fast
+ * paths here so the differential fuzzer covers them.
+ */
+final class PricingEngines {
+
+    private static final PriceCalculator CALCULATOR = new PriceCalculator();
+    private static final PricingFunctionGenerator GENERATOR = new PricingFunctionGenerator(CALCULATOR);
+
+    private PricingEngines() {
+    }
+
+    static List<PricingEngine> all() {
+        return List.of(
+                engine("calculator", config -> quantity -> CALCULATOR.calculatePrice(config, quantity)),
+                engine("quote", config -> quantity -> CALCULATOR.quote(config, quantity).getTotal()),
+                engine("compiled", CompiledPriceConfig::compile),
+                engine("generated", GENERATOR::generate),
+                engine("interpreted", config -> new InterpretedPricingFunction(CALCULATOR, config)),
+                engine("cost-tree", GraduatedCostTree::attach, PriceModel.GRADUATED),
+                new MeteredEngine(),
+                new IdentityOverlayEngine());
+    }
+
+    /**
+     * Overlays every base tier with an override of the same price, which must not change any quote.
+     */
+    private static final class IdentityOverlayEngine implements PricingEngine {
+
+        @Override
+        public String name() {
+            return "overlay";
+        }
+
+        @Override
+        public boolean exactScale() {
+            return false;
+        }
+
+        @Override
+        public PricingFunction prepare(PriceConfig priceConfig) {
+            List<PriceRangeOverride> ranges = priceConfig.getPriceTiers().stream()
+                    .map(tier -> new PriceRangeOverride(tier.getFrom(), tier.getTo(), tier.getPriceValue()))
+                    .toList();
+            PriceOverride override = new PriceOverride("fuzz", priceConfig.getProductId(), ranges);
+            return new OverlayPricingFunction(CompiledPriceConfig.compile(priceConfig), override);
+        }
+    }
+
+    /**
+     * Meters the quantity in three increments on a fresh counter. Range checks mirror calculatePrice,
+     * since a meter charges any usage up to the ladder's end.
+     */
+    private static final class MeteredEngine implements PricingEngine {
+
+        @Override
+        public String name() {
+            return "metered";
+        }
+
+        @Override
+        public boolean supports(PriceConfig priceConfig) {
+            List<PriceTier> tiers = priceConfig.getPriceTiers();
+            if (tiers.isEmpty() || tiers.get(0).getPriceModel() != PriceModel.GRADUATED) {
+                return false;
+            }
+            try {
+                GraduatedLadder ladder = GraduatedLadder.of(priceConfig);
+                int max = tiers.get(tiers.size() - 1).getTo();
+                ladder.charge(max, ladder.advance(0, max));
+                return true;
+            } catch (ArithmeticException exception) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean exactScale() {
+            return false;
+        }
+
+        @Override
+        public PricingFunction prepare(PriceConfig priceConfig) {
+            GraduatedLadder ladder = GraduatedLadder.of(priceConfig);
+            CompiledPriceConfig rangeCheck = CompiledPriceConfig.compile(priceConfig);
+            return quantity -> {
+                rangeCheck.calculatePrice(quantity);
+                MeterTable table = new MeterTable(ladder);
+                table.record(1L, quantity / 3);
+                table.record(1L, quantity / 3);
+                return ladder.toPrice(table.record(1L, quantity - 2 * (quantity / 3)));
+            };
+        }
+    }
+
+    // An engine that only understands ladders of the given model.
+    static PricingEngine engine(String name, Function<PriceConfig, PricingFunction> factory, PriceModel model) {
+        PricingEngine engine = engine(name, factory);
+        return new PricingEngine() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean supports(PriceConfig priceConfig) {
+                List<PriceTier> tiers = priceConfig.getPriceTiers();
+                return !tiers.isEmpty() && tiers.get(0).getPriceModel() == model;
+            }
+
+            @Override
+            public PricingFunction prepare(PriceConfig priceConfig) {
+                return engine.prepare(priceConfig);
+            }
+        };
+    }
+
+    static PricingEngine engine(String name, Function<PriceConfig, PricingFunction> factory) {
+        return new PricingEngine() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public PricingFunction prepare(PriceConfig priceConfig) {
+                return factory.apply(priceConfig);
+            }
+        };
+    }
+}
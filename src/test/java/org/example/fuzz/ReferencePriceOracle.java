@@ -0,0 +1,129 @@
+package org.example.fuzz;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceTier;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Executable specification of PriceConfig validation and PriceCalculator.calculatePrice, written for
+ * clarity rather than speed. Every optimized pricing path must agree with it, including:
+ * <ul>
+ *     <li>the first GRADUATED tier charges units 1..to even when it starts after 1 (or at 0);</li>
+ *     <li>a GRADUATED quote for zero units returns the unscaled {@code BigDecimal.ZERO};</li>
+ *     <li>a GRADUATED total has the largest scale of the tier prices it visited, a tier that
+ *         contributes zero units (e.g. a first tier of 0..0) still counts as visited;</li>
+ *     <li>FLAT returns the tier price as is, VOLUME multiplies it by the whole quantity.</li>
+ * </ul>
+ */
+final class ReferencePriceOracle {
+
+    private ReferencePriceOracle() {
+    }
+
+    /**
+     * @return The message PriceConfig rejects these tiers with, or null if they are valid.
+     */
+    static String validate(List<PriceTier> tiers) {
+        List<PriceTier> sorted = sorted(tiers);
+        if (sorted.isEmpty()) {
+            return null;
+        }
+        boolean graduated = sorted.get(0).getPriceModel() == PriceModel.GRADUATED;
+        for (int i = 0; i < sorted.size(); i++) {
+            if ((sorted.get(i).getPriceModel() == PriceModel.GRADUATED) != graduated) {
+                return "All price models must be the same (either GRADUATED or non-GRADUATED)";
+            }
+            if (i > 0 && sorted.get(i).getFrom() != sorted.get(i - 1).getTo() + 1) {
+                return "Price tiers must be contiguous and non-overlapping.";
+            }
+        }
+        return null;
+    }
+
+    static List<PriceTier> sorted(List<PriceTier> tiers) {
+        List<PriceTier> sorted = new ArrayList<>(tiers);
+        sorted.sort(Comparator.comparingInt(PriceTier::getFrom));
+        return sorted;
+    }
+
+    /**
+     * @param tiers    Valid tiers, in any order.
+     * @param quantity The quantity to price.
+     * @return The price, or the message calculatePrice rejects the quantity with.
+     */
+    static Outcome quote(List<PriceTier> tiers, int quantity) {
+        List<PriceTier> sorted = sorted(tiers);
+        if (quantity < 0) {
+            return Outcome.error("Quantity cannot be negative.");
+        }
+        if (sorted.isEmpty()) {
+            return Outcome.error("priceTiers cannot be null or empty.");
+        }
+        if (quantity < sorted.get(0).getFrom()) {
+            return Outcome.error("Quantity is below the available min range.");
+        }
+        if (quantity > sorted.get(sorted.size() - 1).getTo()) {
+            return Outcome.error("Quantity exceeds maximum tier range.");
+        }
+        if (sorted.get(0).getPriceModel() == PriceModel.GRADUATED) {
+            return Outcome.value(graduated(sorted, quantity));
+        }
+        for (PriceTier tier : sorted) {
+            if (tier.getFrom() <= quantity && quantity <= tier.getTo()) {
+                return Outcome.value(tier.getPriceModel() == PriceModel.FLAT
+                        ? tier.getPriceValue()
+                        : tier.getPriceValue().multiply(BigDecimal.valueOf(quantity)));
+            }
+        }
+        throw new AssertionError("contiguous tiers always contain an in-range quantity");
+    }
+
+    // Unit u (1-based) is charged at the price of the tier whose units-covered range contains it,
+    // where tier 0 covers 1..to(0) and tier i covers to(i-1)+1..to(i).
+    private static BigDecimal graduated(List<PriceTier> sorted, int quantity) {
+        if (quantity == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < sorted.size(); i++) {
+            long coveredBefore = i == 0 ? 0 : sorted.get(i - 1).getTo();
+            if (i > 0 && quantity <= coveredBefore) {
+                break;
+            }
+            long units = Math.min(quantity, sorted.get(i).getTo()) - coveredBefore;
+            total = total.add(sorted.get(i).getPriceValue().multiply(BigDecimal.valueOf(units)));
+        }
+        return total;
+    }
+
+    /**
+     * Either a price or the message of the IllegalArgumentException a quote was rejected with.
+     */
+    record Outcome(BigDecimal value, String error) {
+
+        static Outcome value(BigDecimal value) {
+            return new Outcome(value, null);
+        }
+
+        static Outcome error(String error) {
+            return new Outcome(null, error);
+        }
+
+        boolean matches(Outcome other, boolean exactScale) {
+            if (error != null || other.error != null) {
+                return Objects.equals(error, other.error);
+            }
+            return exactScale ? value.equals(other.value) : value.compareTo(other.value) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return error != null ? "rejected(" + error + ")" : value.toPlainString() + " (scale " + value.scale() + ")";
+        }
+    }
+}
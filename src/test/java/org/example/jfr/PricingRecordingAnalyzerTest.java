@@ -0,0 +1,59 @@
+package org.example.jfr;
+
+import jdk.jfr.Recording;
+import org.example.PriceCalculator;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingRecordingAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRecordingIsGroupedByProductAndModel() throws Exception {
+        PriceCalculator calculator = new PriceCalculator();
+        Path file = tempDir.resolve("pricing.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PriceQuoteEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(PriceConfigRebuildEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            PriceConfig graduated = new PriceConfig("product1", Arrays.asList(
+                    new PriceTier(1, 5, new BigDecimal("10.0"), PriceModel.GRADUATED),
+                    new PriceTier(6, 10, new BigDecimal("8.0"), PriceModel.GRADUATED)));
+            PriceConfig mixed = new PriceConfig("product2", Arrays.asList(
+                    new PriceTier(1, 5, new BigDecimal("20.0"), PriceModel.FLAT),
+                    new PriceTier(6, 10, new BigDecimal("3.0"), PriceModel.VOLUME)));
+
+            calculator.calculatePrice(graduated, 3);
+            calculator.calculatePrice(graduated, 7);
+            calculator.calculatePrice(mixed, 2);
+            calculator.calculatePrice(mixed, 8);
+            assertThrows(IllegalArgumentException.class, () -> calculator.calculatePrice(graduated, 11));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        PricingRecordingAnalyzer analyzer = PricingRecordingAnalyzer.analyze(file);
+
+        assertEquals(3, analyzer.getQuotes().get("product1 / GRADUATED").getCount());
+        assertEquals(1, analyzer.getQuotes().get("product1 / GRADUATED").getFailures());
+        assertEquals(1, analyzer.getQuotes().get("product2 / FLAT").getCount());
+        assertEquals(1, analyzer.getQuotes().get("product2 / VOLUME").getCount());
+        assertEquals(1, analyzer.getRebuilds().get("product1").getCount());
+        assertTrue(analyzer.report().contains("product2 / VOLUME"));
+    }
+}
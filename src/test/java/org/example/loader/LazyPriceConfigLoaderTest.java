@@ -0,0 +1,160 @@
+package org.example.loader;
+
+import org.example.PriceCalculator;
+import org.example.compiled.CompiledPriceConfig;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPriceConfigLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, PriceConfig> catalog = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private AccessProfile profile;
+    private LazyPriceConfigLoader loader;
+
+    @BeforeEach
+    public void setUp() {
+        catalog.put("product1", new PriceConfig("product1", Arrays.asList(
+                new PriceTier(1, 5, new BigDecimal("10.0"), PriceModel.GRADUATED),
+                new PriceTier(6, 10, new BigDecimal("8.0"), PriceModel.GRADUATED))));
+        catalog.put("product2", new PriceConfig("product2", Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal("100.0"), PriceModel.FLAT),
+                new PriceTier(11, 20, new BigDecimal("150.0"), PriceModel.VOLUME))));
+        profile = new AccessProfile();
+        loader = new LazyPriceConfigLoader(productId -> {
+            lookups.incrementAndGet();
+            return catalog.get(productId);
+        }, profile);
+    }
+
+    @Test
+    public void testConcurrentFirstHitsCompileOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompiledPriceConfig>> results = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return loader.get("product1");
+            }));
+        }
+        start.countDown();
+
+        CompiledPriceConfig first = results.get(0).get();
+        for (Future<CompiledPriceConfig> result : results) {
+            assertSame(first, result.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, lookups.get());
+        assertEquals(32, profile.getCount("product1"));
+        assertEquals(new BigDecimal("66.0"), first.calculatePrice(7));
+    }
+
+    @Test
+    public void testUnknownProductIsNotCached() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> loader.get("missing"));
+        assertEquals("Price configuration not found for product: missing", thrown.getMessage());
+        assertFalse(loader.isCompiled("missing"));
+
+        catalog.put("missing", new PriceConfig("missing", List.of(new PriceTier(1, 5, BigDecimal.TEN, PriceModel.FLAT))));
+        assertEquals(BigDecimal.TEN, loader.get("missing").calculatePrice(3));
+    }
+
+    @Test
+    public void testErrorInLoadReleasesWaitingCallers() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        LazyPriceConfigLoader failing = new LazyPriceConfigLoader(productId -> {
+            if (attempts.incrementAndGet() == 1) {
+                loading.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError("deep ladder");
+            }
+            return catalog.get(productId);
+        }, profile);
+        FutureTask<CompiledPriceConfig> first = new FutureTask<>(() -> failing.get("product1"));
+        FutureTask<CompiledPriceConfig> waiting = new FutureTask<>(() -> failing.get("product1"));
+        new Thread(first).start();
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        Thread waiter = new Thread(waiting);
+        waiter.start();
+        // Let the second caller block on the first one's load before that load fails.
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        fail.countDown();
+
+        for (FutureTask<CompiledPriceConfig> result : List.of(first, waiting)) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, thrown.getCause());
+        }
+        assertFalse(failing.isCompiled("product1"));
+        assertEquals(new BigDecimal("66.0"), failing.get("product1").calculatePrice(7));
+    }
+
+    @Test
+    public void testInvalidateRecompilesCurrentConfig() {
+        assertEquals(new BigDecimal("2700.0"), loader.get("product2").calculatePrice(18));
+
+        catalog.get("product2").setPriceTiers(List.of(new PriceTier(1, 20, new BigDecimal("1.0"), PriceModel.VOLUME)));
+        assertEquals(new BigDecimal("2700.0"), loader.get("product2").calculatePrice(18));
+
+        loader.invalidate("product2");
+        assertEquals(new BigDecimal("18.0"), loader.get("product2").calculatePrice(18));
+    }
+
+    @Test
+    public void testWarmerPreloadsHottestProductsFromSavedProfile() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            profile.record("product2");
+        }
+        profile.record("product1");
+        profile.record("missing");
+        Path file = tempDir.resolve("access.profile");
+        profile.save(file);
+
+        AccessProfile restored = AccessProfile.load(file);
+        assertEquals(List.of("product2", "missing"), restored.topProducts(2));
+
+        PricingWarmer warmer = new PricingWarmer(loader, new PriceCalculator(), 2, 300);
+        assertFalse(warmer.isReady());
+        warmer.start(restored).get(10, TimeUnit.SECONDS);
+
+        assertTrue(warmer.isReady());
+        assertTrue(loader.isCompiled("product2"));
+        assertFalse(loader.isCompiled("product1"));
+        assertEquals(3, profile.getCount("product2"), "warming must not count as access");
+    }
+}
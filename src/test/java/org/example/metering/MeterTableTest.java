@@ -0,0 +1,118 @@
+package org.example.metering;
+
+import org.example.PriceCalculator;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeterTableTest {
+
+    private PriceConfig priceConfig;
+    private MeterTable table;
+
+    @BeforeEach
+    public void setUp() {
+        priceConfig = new PriceConfig("product1", Arrays.asList(
+                new PriceTier(1, 5, new BigDecimal("9.99"), PriceModel.GRADUATED),
+                new PriceTier(6, 10, new BigDecimal("8.5"), PriceModel.GRADUATED),
+                new PriceTier(11, 1_000, new BigDecimal("6"), PriceModel.GRADUATED)));
+        table = new MeterTable(GraduatedLadder.of(priceConfig));
+    }
+
+    @Test
+    public void testIncrementalChargeMatchesCalculatePrice() {
+        PriceCalculator calculator = new PriceCalculator();
+        Random random = new Random(31);
+        long cumulative = 0;
+        while (cumulative < 990) {
+            long units = 1 + random.nextInt(12);
+            cumulative += units;
+            long charge = table.record(7L, units);
+            assertEquals(0, calculator.calculatePrice(priceConfig, (int) cumulative)
+                    .compareTo(table.getLadder().toPrice(charge)), "usage " + cumulative);
+        }
+        assertEquals(cumulative, table.getUsage(7L));
+    }
+
+    @Test
+    public void testUsageBeyondLadderIsRejectedWithoutChangingCounter() {
+        table.record(1L, 999);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> table.record(1L, 2));
+        assertEquals("Quantity exceeds maximum tier range.", thrown.getMessage());
+        assertEquals(999, table.getUsage(1L));
+        assertThrows(IllegalArgumentException.class, () -> table.record(1L, -1));
+    }
+
+    @Test
+    public void testRejectedFirstUsageDoesNotAddCounter() {
+        table.record(1L, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> table.record(2L, 1_001));
+        assertThrows(IllegalArgumentException.class, () -> table.record(3L, Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> table.record(4L, -1));
+
+        assertEquals(1, table.size());
+        MeterSnapshot snapshot = table.closePeriod();
+        assertEquals(1, snapshot.size());
+        List<Long> customers = new ArrayList<>();
+        snapshot.forEach((customerId, usage, charge) -> customers.add(customerId));
+        assertEquals(List.of(1L), customers);
+    }
+
+    @Test
+    public void testOpenEndedLastTierMetersPastIntRange() {
+        PriceConfig unbounded = new PriceConfig("product2", Arrays.asList(
+                new PriceTier(1, 1_000, new BigDecimal("0.02"), PriceModel.GRADUATED),
+                new PriceTier(1_001, Integer.MAX_VALUE, new BigDecimal("0.01"), PriceModel.GRADUATED)));
+        MeterTable meters = new MeterTable(GraduatedLadder.of(unbounded));
+
+        meters.record(1L, 3_000_000_000L);
+        meters.record(1L, 2_000_000_000L);
+
+        // 1,000 * 0.02 + (5,000,000,000 - 1,000) * 0.01
+        assertEquals(new BigDecimal("50000010.00"), meters.getCharge(1L));
+    }
+
+    @Test
+    public void testClosePeriodHandsOverCountersAndResets() {
+        List<Long> customers = new ArrayList<>();
+        for (long customer = 0; customer < 10_000; customer++) {
+            table.record(customer * 31, customer % 20);
+            customers.add(customer * 31);
+        }
+
+        MeterSnapshot snapshot = table.closePeriod();
+
+        assertEquals(0, table.size());
+        assertEquals(0, table.getUsage(31L * 19));
+        assertEquals(10_000, snapshot.size());
+        assertEquals(19, snapshot.getUsage(31L * 19));
+        assertEquals(new BigDecimal("146.45"), snapshot.getCharge(31L * 19));
+
+        long[] total = new long[1];
+        snapshot.forEach((customerId, usage, charge) -> {
+            assertTrue(customers.contains(customerId));
+            total[0] += usage;
+        });
+        assertEquals(95_000, total[0]);
+    }
+
+    @Test
+    public void testNonGraduatedConfigIsRejected() {
+        PriceConfig volume = new PriceConfig("product3", List.of(new PriceTier(1, 5, BigDecimal.TEN, PriceModel.VOLUME)));
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> GraduatedLadder.of(volume));
+        assertEquals("Metering requires GRADUATED price tiers.", thrown.getMessage());
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.overrides;
+
+import org.example.PriceCalculator;
+import org.example.compiled.PricingFunction;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceOverride;
+import org.example.pojos.PriceRangeOverride;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceOverrideResolverTest {
+
+    private final PriceCalculator calculator = new PriceCalculator();
+    private Map<String, PriceConfig> catalog;
+    private PriceOverrideResolver resolver;
+
+    @BeforeEach
+    public void setUp() {
+        catalog = new HashMap<>();
+        catalog.put("graduated", new PriceConfig("graduated", Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal("10"), PriceModel.GRADUATED),
+                new PriceTier(11, 50, new BigDecimal("8"), PriceModel.GRADUATED),
+                new PriceTier(51, 200, new BigDecimal("5"), PriceModel.GRADUATED))));
+        catalog.put("volume", new PriceConfig("volume", Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal("10"), PriceModel.VOLUME),
+                new PriceTier(11, 100, new BigDecimal("7"), PriceModel.FLAT))));
+        resolver = new PriceOverrideResolver(catalog::get);
+    }
+
+    @Test
+    public void testGraduatedOverlayMatchesMaterializedLadder() {
+        resolver.putOverride(new PriceOverride("acme", "graduated", List.of(
+                new PriceRangeOverride(5, 20, new BigDecimal("6.5")),
+                new PriceRangeOverride(40, 60, new BigDecimal("4")))));
+        // The same prices written out as one ladder.
+        PriceConfig materialized = new PriceConfig("graduated", Arrays.asList(
+                new PriceTier(1, 4, new BigDecimal("10"), PriceModel.GRADUATED),
+                new PriceTier(5, 20, new BigDecimal("6.5"), PriceModel.GRADUATED),
+                new PriceTier(21, 39, new BigDecimal("8"), PriceModel.GRADUATED),
+                new PriceTier(40, 60, new BigDecimal("4"), PriceModel.GRADUATED),
+                new PriceTier(61, 200, new BigDecimal("5"), PriceModel.GRADUATED)));
+
+        for (int quantity = 1; quantity <= 200; quantity++) {
+            assertEquals(0, calculator.calculatePrice(materialized, quantity)
+                    .compareTo(resolver.calculatePrice("acme", "graduated", quantity)), "quantity " + quantity);
+        }
+        assertThrows(IllegalArgumentException.class, () -> resolver.calculatePrice("acme", "graduated", 201));
+    }
+
+    @Test
+    public void testNonGraduatedOverlayKeepsBaseModel() {
+        resolver.putOverride(new PriceOverride("acme", "volume", List.of(
+                new PriceRangeOverride(8, 12, new BigDecimal("9")))));
+
+        assertEquals(new BigDecimal("70"), resolver.calculatePrice("acme", "volume", 7));
+        assertEquals(new BigDecimal("72"), resolver.calculatePrice("acme", "volume", 8));
+        assertEquals(new BigDecimal("9"), resolver.calculatePrice("acme", "volume", 12));
+        assertEquals(new BigDecimal("7"), resolver.calculatePrice("acme", "volume", 13));
+    }
+
+    @Test
+    public void testCustomersWithoutOverrideShareTheBase() {
+        resolver.putOverride(new PriceOverride("acme", "graduated", List.of(
+                new PriceRangeOverride(1, 200, BigDecimal.ONE))));
+
+        PricingFunction plain = resolver.resolve("other", "graduated");
+        OverlayPricingFunction view = (OverlayPricingFunction) resolver.resolve("acme", "graduated");
+
+        assertSame(plain, view.getBase());
+        assertSame(view, resolver.resolve("acme", "graduated"));
+        assertEquals(new BigDecimal("100"), view.calculatePrice(100));
+    }
+
+    @Test
+    public void testViewIsRebuiltWhenBaseOrOverrideChanges() {
+        resolver.putOverride(new PriceOverride("acme", "graduated", List.of(
+                new PriceRangeOverride(1, 10, new BigDecimal("2")))));
+        assertEquals(new BigDecimal("36"), resolver.calculatePrice("acme", "graduated", 12));
+
+        List<PriceTier> tiers = new ArrayList<>(catalog.get("graduated").getPriceTiers());
+        tiers.set(1, new PriceTier(11, 50, new BigDecimal("3"), PriceModel.GRADUATED));
+        catalog.get("graduated").setPriceTiers(tiers);
+        assertEquals(new BigDecimal("26"), resolver.calculatePrice("acme", "graduated", 12));
+
+        resolver.putOverride(new PriceOverride("acme", "graduated", List.of(
+                new PriceRangeOverride(1, 10, new BigDecimal("1")))));
+        assertEquals(new BigDecimal("16"), resolver.calculatePrice("acme", "graduated", 12));
+
+        resolver.removeOverride("acme", "graduated");
+        assertEquals(new BigDecimal("106"), resolver.calculatePrice("acme", "graduated", 12));
+    }
+
+    @Test
+    public void testInvalidOverridesAreRejected() {
+        IllegalArgumentException overlap = assertThrows(IllegalArgumentException.class, () -> new PriceOverride("acme",
+                "graduated", List.of(new PriceRangeOverride(1, 10, BigDecimal.ONE), new PriceRangeOverride(10, 20, BigDecimal.ONE))));
+        assertEquals("Override ranges must not overlap.", overlap.getMessage());
+
+        resolver.putOverride(new PriceOverride("acme", "graduated", List.of(
+                new PriceRangeOverride(150, 250, BigDecimal.ONE))));
+        IllegalArgumentException outside = assertThrows(IllegalArgumentException.class,
+                () -> resolver.resolve("acme", "graduated"));
+        assertEquals("Override range exceeds the maximum tier range.", outside.getMessage());
+
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> resolver.resolve("acme", "missing"));
+        assertEquals("Price configuration not found for product: missing", unknown.getMessage());
+    }
+}
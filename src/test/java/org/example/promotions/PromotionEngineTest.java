@@ -0,0 +1,139 @@
+package org.example.promotions;
+
+import org.example.PriceCalculator;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.example.pojos.PromotionRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionEngineTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private PriceConfig priceConfig;
+    private PromotionEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        priceConfig = new PriceConfig("product1", Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal("10.00"), PriceModel.VOLUME),
+                new PriceTier(11, 1_000, new BigDecimal("8.00"), PriceModel.VOLUME)));
+        Map<String, Set<String>> groups = Map.of("product1", Set.of("hardware"));
+        engine = new PromotionEngine(new PriceCalculator(), productId -> groups.getOrDefault(productId, Set.of()));
+    }
+
+    @Test
+    public void testPercentOffAboveQuantity() {
+        engine.setRules(List.of(PromotionRule.percentOff("bulk10", "product1", 20, new BigDecimal("10"))));
+
+        PromotionResult below = engine.quote(priceConfig, 19, NOW);
+        PromotionResult above = engine.quote(priceConfig, 20, NOW);
+
+        assertEquals(new BigDecimal("152.00"), below.finalPrice());
+        assertFalse(below.isDiscounted());
+        assertEquals(new BigDecimal("160.00"), above.basePrice());
+        assertEquals(new BigDecimal("144.00"), above.finalPrice());
+        assertEquals(List.of("bulk10"), above.appliedRuleIds());
+    }
+
+    @Test
+    public void testBuyXGetYChargesOnlyPaidUnits() {
+        engine.setRules(List.of(PromotionRule.buyXGetY("3for2", "product1", 2, 1)));
+
+        assertFalse(engine.quote(priceConfig, 2, NOW).isDiscounted());
+        // 7 units at 10.00, 2 of them free.
+        assertEquals(new BigDecimal("50.00"), engine.quote(priceConfig, 7, NOW).finalPrice());
+    }
+
+    @Test
+    public void testGroupRulesAndWindowsStackInRuleOrder() {
+        Instant end = NOW.plusSeconds(3_600);
+        engine.setRules(List.of(
+                PromotionRule.percentOffGroup("hardware-sale", "hardware", 1, new BigDecimal("50"))
+                        .during(NOW, end),
+                PromotionRule.buyXGetY("3for2", "product1", 2, 1).withQuantityRange(3, 9),
+                PromotionRule.percentOff("expired", "product1", 1, new BigDecimal("90")).during(NOW.minusSeconds(60), NOW),
+                PromotionRule.percentOffGroup("software", "software", 1, new BigDecimal("90"))));
+
+        PromotionResult result = engine.quote(priceConfig, 6, NOW);
+
+        assertEquals(new BigDecimal("20.00"), result.finalPrice());
+        assertEquals(List.of("hardware-sale", "3for2"), result.appliedRuleIds());
+        assertEquals(List.of(), engine.quote(priceConfig, 12, end).appliedRuleIds());
+    }
+
+    @Test
+    public void testQuoteOnlyVisitsRulesThatCanMatch() {
+        List<PromotionRule> rules = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            rules.add(PromotionRule.percentOff("other" + i, "product" + (i + 2), 1, BigDecimal.ONE));
+            rules.add(PromotionRule.percentOff("range" + i, "product1", 1, BigDecimal.ONE)
+                    .withQuantityRange(100 + i * 10, 109 + i * 10));
+        }
+        rules.add(PromotionRule.percentOffGroup("group", "hardware", 1, BigDecimal.ONE));
+        engine.setRules(rules);
+        PromotionIndex index = PromotionIndex.build(rules);
+
+        assertArrayEquals(new int[]{2 * 5 + 1, 40_000}, index.candidates("product1", Set.of("hardware"), 155));
+        assertEquals(List.of("range5", "group"), engine.quote(priceConfig, 155, NOW).appliedRuleIds());
+        assertEquals(List.of("group"), engine.quote(priceConfig, 99, NOW).appliedRuleIds());
+    }
+
+    @Test
+    public void testOverlappingRangesMatchBruteForce() {
+        // Mostly nested "above N" ranges, where most rules match most segments.
+        int count = 20_000;
+        Random random = new Random(33);
+        int[] rules = new int[count];
+        int[] minimums = new int[count];
+        int[] maximums = new int[count];
+        for (int i = 0; i < count; i++) {
+            rules[i] = i;
+            minimums[i] = 1 + random.nextInt(100_000);
+            maximums[i] = i % 4 == 0 ? minimums[i] + random.nextInt(1_000) : Integer.MAX_VALUE;
+        }
+        QuantityIntervalIndex index = QuantityIntervalIndex.build(rules, minimums, maximums);
+
+        for (int lookup = 0; lookup < 200; lookup++) {
+            int quantity = random.nextInt(110_000);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (minimums[i] <= quantity && quantity <= maximums[i]) {
+                    expected.add(i);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), index.rulesFor(quantity),
+                    "quantity " + quantity);
+        }
+        assertArrayEquals(new int[0], index.rulesFor(0));
+    }
+
+    @Test
+    public void testInvalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PromotionRule.percentOff("r", "product1", 1, new BigDecimal("101")));
+        assertThrows(IllegalArgumentException.class, () -> PromotionRule.buyXGetY("r", "product1", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> PromotionRule.percentOff("r", null, 1, BigDecimal.TEN));
+        assertThrows(IllegalArgumentException.class, () -> PromotionRule.buyXGetYGroup("r", " ", 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> PromotionRule.percentOff("r", "product1", 1, BigDecimal.TEN)
+                .during(NOW, NOW));
+
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class, () -> engine.setRules(List.of(
+                PromotionRule.percentOff("r", "product1", 1, BigDecimal.TEN),
+                PromotionRule.buyXGetY("r", "product1", 1, 1))));
+        assertEquals("Duplicate promotion rule id: r", duplicate.getMessage());
+        assertEquals(0, engine.getRuleCount());
+    }
+}
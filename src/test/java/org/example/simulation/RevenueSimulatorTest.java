@@ -0,0 +1,99 @@
+package org.example.simulation;
+
+import org.example.PriceCalculator;
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueSimulatorTest {
+
+    private final RevenueSimulator simulator = new RevenueSimulator();
+    private final PriceCalculator calculator = new PriceCalculator();
+
+    private final PriceConfig graduated = new PriceConfig("graduated", Arrays.asList(
+            new PriceTier(1, 10, new BigDecimal("10"), PriceModel.GRADUATED),
+            new PriceTier(11, 20, new BigDecimal("8"), PriceModel.GRADUATED),
+            new PriceTier(21, 100, new BigDecimal("5.5"), PriceModel.GRADUATED)));
+
+    @Test
+    public void testGraduatedBreakdownPerTier() {
+        RevenueReport report = simulator.simulate(graduated, DemandHistogram.ofOrders(5, 15, 15, 30, 101, 0));
+
+        // 5 + 3 * 10 units in the first tier, 2 * 5 + 10 in the second, 10 in the third.
+        assertEquals(35, report.getTierVolume(0));
+        assertEquals(20, report.getTierVolume(1));
+        assertEquals(10, report.getTierVolume(2));
+        assertEquals(0, new BigDecimal("350").compareTo(report.getTierRevenue(0)));
+        assertEquals(0, new BigDecimal("160").compareTo(report.getTierRevenue(1)));
+        assertEquals(0, new BigDecimal("55").compareTo(report.getTierRevenue(2)));
+        assertEquals(0, new BigDecimal("565").compareTo(report.getTotalRevenue()));
+        assertEquals(4, report.getAcceptedOrders());
+        assertEquals(2, report.getRejectedOrders());
+    }
+
+    @Test
+    public void testTotalMatchesCalculatePricePerOrder() {
+        PriceConfig mixed = new PriceConfig("mixed", Arrays.asList(
+                new PriceTier(3, 10, new BigDecimal("12.25"), PriceModel.VOLUME),
+                new PriceTier(11, 40, new BigDecimal("99"), PriceModel.FLAT),
+                new PriceTier(41, 100, new BigDecimal("2.5"), PriceModel.VOLUME)));
+        Random random = new Random(34);
+        Map<Integer, Long> counts = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            counts.merge(random.nextInt(110), 1L + random.nextInt(1_000), Long::sum);
+        }
+        DemandHistogram histogram = DemandHistogram.of(counts);
+
+        for (PriceConfig priceConfig : List.of(graduated, mixed)) {
+            BigDecimal expected = BigDecimal.ZERO;
+            long rejected = 0;
+            for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+                try {
+                    BigDecimal price = calculator.calculatePrice(priceConfig, entry.getKey());
+                    expected = expected.add(price.multiply(BigDecimal.valueOf(entry.getValue())));
+                } catch (IllegalArgumentException exception) {
+                    rejected += entry.getValue();
+                }
+            }
+            RevenueReport report = simulator.simulate(priceConfig, histogram);
+            assertEquals(0, expected.compareTo(report.getTotalRevenue()), priceConfig.getProductId());
+            assertEquals(rejected, report.getRejectedOrders());
+        }
+    }
+
+    @Test
+    public void testSimulateAllKeepsCandidateOrder() {
+        List<PriceConfig> candidates = new ArrayList<>();
+        for (int price = 1; price <= 64; price++) {
+            candidates.add(new PriceConfig("candidate" + price, List.of(
+                    new PriceTier(1, 1_000, BigDecimal.valueOf(price), PriceModel.VOLUME))));
+        }
+
+        List<RevenueReport> reports = simulator.simulateAll(candidates, DemandHistogram.ofOrders(10, 20, 30));
+
+        assertEquals(64, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            assertEquals("candidate" + (i + 1), reports.get(i).getProductId());
+            assertEquals(0, BigDecimal.valueOf(60L * (i + 1)).compareTo(reports.get(i).getTotalRevenue()));
+        }
+    }
+
+    @Test
+    public void testInvalidInputsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(null, DemandHistogram.ofOrders(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulator.simulate(new PriceConfig("empty"), DemandHistogram.ofOrders(1)));
+        assertThrows(IllegalArgumentException.class, () -> DemandHistogram.of(Map.of(1, -1L)));
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.store;
+
+import org.example.enums.PriceModel;
+import org.example.pojos.PriceConfig;
+import org.example.pojos.PriceTier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceConfigStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static PriceConfig config(String productId, String price) {
+        return new PriceConfig(productId, Arrays.asList(
+                new PriceTier(1, 10, new BigDecimal(price), PriceModel.GRADUATED),
+                new PriceTier(11, 20, new BigDecimal("1.5"), PriceModel.GRADUATED)));
+    }
+
+    @Test
+    public void testMutationsSurviveReopen() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            store.put(config("product1", "9.99"));
+            store.put(config("product2", "3"));
+            store.addPriceTier("product1", new PriceTier(21, 30, new BigDecimal("0.75"), PriceModel.GRADUATED));
+            store.removePriceTier("product1", new PriceTier(21, 30, new BigDecimal("0.75"), PriceModel.GRADUATED));
+            store.addPriceTier("product1", new PriceTier(21, 40, new BigDecimal("0.50"), PriceModel.GRADUATED));
+            store.delete("product2");
+        }
+
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            PriceConfig expected = config("product1", "9.99");
+            expected.addPriceTier(new PriceTier(21, 40, new BigDecimal("0.50"), PriceModel.GRADUATED));
+            assertEquals(expected, store.get("product1"));
+            assertNull(store.get("product2"));
+            assertEquals(6, store.getLastSequence());
+        }
+    }
+
+    @Test
+    public void testRejectedMutationIsNotLogged() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            store.put(config("product1", "9.99"));
+
+            assertThrows(IllegalArgumentException.class, () -> store.addPriceTier("product1",
+                    new PriceTier(15, 30, BigDecimal.ONE, PriceModel.GRADUATED)));
+            IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                    () -> store.delete("missing"));
+            assertEquals("Price configuration not found for product: missing", unknown.getMessage());
+            assertEquals(config("product1", "9.99"), store.get("product1"));
+            assertEquals(1, store.getLastSequence());
+        }
+    }
+
+    @Test
+    public void testUnencodableMutationIsRejectedWithoutSequenceGap() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            store.put(config("product1", "9.99"));
+            String longId = "p".repeat(70_000);
+
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                    () -> store.put(config(longId, "1")));
+            assertEquals("productId is too long to store.", thrown.getMessage());
+            assertNull(store.get(longId));
+            assertEquals(1, store.getLastSequence());
+
+            store.put(config("product2", "3"));
+            assertEquals(2, store.getLastSequence());
+        }
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            assertEquals(2, store.size());
+            assertEquals(2, store.getLastSequence());
+        }
+    }
+
+    @Test
+    public void testTornTailIsDiscardedOnRecovery() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            store.put(config("product1", "9.99"));
+            store.put(config("product2", "3"));
+        }
+        Path wal = logFiles().get(0);
+        byte[] last = WriteAheadLog.frame(new StoreRecord(3, StoreRecord.Operation.DELETE, "product1", List.of()).encode());
+        Files.write(wal, Arrays.copyOf(last, last.length - 3), StandardOpenOption.APPEND);
+
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            assertNotNull(store.get("product1"));
+            assertEquals(2, store.getLastSequence());
+            store.put(config("product3", "1"));
+        }
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            assertEquals(3, store.size());
+            assertEquals(3, store.getLastSequence());
+        }
+    }
+
+    @Test
+    public void testDamagedOlderLogFailsRecovery() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory, 2)) {
+            // Failing snapshots still switch logs, which leaves wal-0, wal-1 and wal-2 behind.
+            Files.createDirectory(directory.resolve(String.format("snapshot-%020d.dat.tmp", 1)));
+            Files.createDirectory(directory.resolve(String.format("snapshot-%020d.dat.tmp", 2)));
+            store.put(config("product1", "1"));
+            store.put(config("product2", "2"));
+            store.awaitSnapshot();
+            store.put(config("product3", "3"));
+            store.awaitSnapshot();
+            assertEquals(2, store.getGeneration());
+        }
+        List<Path> logs = logFiles();
+        assertEquals(3, logs.size());
+        byte[] middle = Files.readAllBytes(logs.get(1));
+        middle[middle.length - 1] ^= 1;
+        Files.write(logs.get(1), middle);
+
+        IOException thrown = assertThrows(IOException.class, () -> PriceConfigStore.open(directory, 2));
+        assertTrue(thrown.getMessage().startsWith("Damaged write-ahead log"), thrown.getMessage());
+        assertEquals(3, logFiles().size());
+    }
+
+    @Test
+    public void testSnapshotsBoundTheLogToReplay() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory, 10)) {
+            for (int i = 0; i < 25; i++) {
+                store.put(config("product" + (i % 7), i + ".25"));
+                // Snapshots are written in the background; wait, so each interval gets its own.
+                store.awaitSnapshot();
+            }
+            store.snapshot();
+            assertEquals(3, store.getGeneration());
+            store.put(config("product0", "100"));
+        }
+
+        assertEquals(1, logFiles().size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        try (PriceConfigStore store = PriceConfigStore.open(directory, 10)) {
+            assertEquals(7, store.size());
+            assertEquals(config("product0", "100"), store.get("product0"));
+            assertEquals(config("product6", "20.25"), store.get("product6"));
+            assertEquals(26, store.getLastSequence());
+        }
+    }
+
+    @Test
+    public void testConcurrentWritersShareCommits() throws Exception {
+        int threads = 8;
+        int writesPerThread = 200;
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    int id = thread;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < writesPerThread; i++) {
+                            store.put(config("product" + id + "-" + i, "2"));
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            // With eight writers each waiting for its own fsync, some fsyncs must have been shared.
+            assertTrue(store.getCommitCount() < threads * writesPerThread,
+                    "commits: " + store.getCommitCount());
+        }
+        try (PriceConfigStore store = PriceConfigStore.open(directory)) {
+            assertEquals(threads * writesPerThread, store.size());
+        }
+    }
+
+    @Test
+    public void testFailedLogWriteIsNotVisible() throws IOException {
+        PriceConfigStore store = PriceConfigStore.open(directory);
+        store.put(config("product1", "9.99"));
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.put(config("product2", "3")));
+        assertNull(store.get("product2"));
+        assertEquals(1, store.size());
+        assertEquals(1, store.getLastSequence());
+    }
+
+    @Test
+    public void testFailedSnapshotIsRetriedOnNextCommit() throws IOException {
+        try (PriceConfigStore store = PriceConfigStore.open(directory, 2)) {
+            // A directory in the way of the temp file makes the first snapshot fail.
+            Path blocker = directory.resolve(String.format("snapshot-%020d.dat.tmp", 1));
+            Files.createDirectory(blocker);
+            store.put(config("product1", "1"));
+            store.put(config("product2", "2"));
+            store.awaitSnapshot();
+            assertNotNull(store.getSnapshotFailure());
+            assertEquals(1, store.getGeneration());
+
+            Files.delete(blocker);
+            store.put(config("product3", "3"));
+            store.awaitSnapshot();
+            assertNull(store.getSnapshotFailure());
+            assertEquals(2, store.getGeneration());
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("snapshot-00000000000000000002.dat", "wal-00000000000000000002.log"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+        try (PriceConfigStore store = PriceConfigStore.open(directory, 2)) {
+            assertEquals(3, store.size());
+            assertEquals(3, store.getLastSequence());
+        }
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+}